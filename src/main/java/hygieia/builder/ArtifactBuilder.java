@@ -1,5 +1,6 @@
 package hygieia.builder;
 
+import com.capitalone.dashboard.model.SCM;
 import com.capitalone.dashboard.request.BinaryArtifactCreateRequest;
 import hudson.EnvVars;
 import hudson.FilePath;
@@ -8,6 +9,7 @@ import hudson.model.Run;
 import hudson.model.TaskListener;
 import hudson.scm.ChangeLogSet;
 import hygieia.utils.HygieiaUtils;
+import hygieia.utils.WorkspaceIndex;
 import jenkins.plugins.hygieia.HygieiaPublisher;
 import jenkins.plugins.hygieia.workflow.HygieiaArtifactPublishStep;
 import org.apache.commons.io.FilenameUtils;
@@ -17,7 +19,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -35,6 +39,11 @@ public class ArtifactBuilder {
     private String group;
     private String version;
     private FilePath rootDirectory;
+    private boolean environmentExpanded;
+    private WorkspaceIndex workspaceIndex;
+
+    // name the artifact files are registered under in a WorkspaceIndex
+    static final String INDEX_CONSUMER = ArtifactBuilder.class.getName();
 
     public ArtifactBuilder(AbstractBuild<?, ?> build, HygieiaPublisher publisher, TaskListener listener, String hygieiaBuildId) {
         //fixme: Need to fix the run and build dual!
@@ -61,19 +70,23 @@ public class ArtifactBuilder {
     }
 
     private Set<BinaryArtifactCreateRequest> buildArtifacts() {
-        List<ChangeLogSet<? extends ChangeLogSet.Entry>> changeLogSets = new ArrayList<>();
         Set<BinaryArtifactCreateRequest> artifacts = new HashSet<>();
-        EnvVars envVars = getEnvironment(run, listener);
-        if (envVars != null) {
-            version = envVars.expand(version);
-            group = envVars.expand(group);
-            directory = envVars.expand(directory);
-            filePattern = envVars.expand(filePattern);
-        }
+        expandEnvironment();
 
         listener.getLogger().println("Hygieia Build Artifact Publisher - Looking for file pattern '" + filePattern + "' in directory " + rootDirectory);
         try {
-            List<FilePath> artifactFiles = HygieiaUtils.getArtifactFiles(rootDirectory, filePattern, new ArrayList<FilePath>());
+            List<FilePath> artifactFiles = null != workspaceIndex ? workspaceIndex.getFiles(INDEX_CONSUMER)
+                    : HygieiaUtils.getArtifactFiles(rootDirectory, filePattern, new ArrayList<FilePath>());
+            if (artifactFiles.isEmpty()) {
+                return artifacts;
+            }
+
+            // the same for every artifact of the run, worked out once
+            List<SCM> commits = getCommits();
+            Map<String, String> metadata = getRunMetadata();
+            long timestamp = run.getTimeInMillis();
+            Map<String, String> checksums = getChecksums(artifactFiles);
+
             for (FilePath f : artifactFiles) {
                 listener.getLogger().println("Hygieia Artifact Publisher: Processing  file: " + f.getRemote());
                 BinaryArtifactCreateRequest bac = new BinaryArtifactCreateRequest();
@@ -89,44 +102,14 @@ public class ArtifactBuilder {
                 bac.setArtifactName(artifactName);
                 bac.setArtifactModule(artifactName); // for now assume maven artifact
                 bac.setArtifactExtension(FilenameUtils.getExtension(f.getName()));
-                bac.setTimestamp(run.getTimeInMillis());
+                bac.setTimestamp(timestamp);
                 bac.setBuildId(hygieiaBuildId);
 
-                if (run instanceof WorkflowRun) {
-                    changeLogSets = ((WorkflowRun) run).getChangeSets();
-                } else if (run instanceof AbstractBuild) {
-                    ChangeLogSet<? extends ChangeLogSet.Entry> sets = ((AbstractBuild) run).getChangeSet();
-                    changeLogSets = sets.isEmptySet() ? Collections.<ChangeLogSet<? extends ChangeLogSet.Entry>>emptyList() : Collections.<ChangeLogSet<? extends ChangeLogSet.Entry>>singletonList(sets);
-                }
-                CommitBuilder commitBuilder = new CommitBuilder(changeLogSets);
-
-                bac.getSourceChangeSet().addAll(commitBuilder.getCommits());
-
-                bac.getMetadata().put("buildUrl", HygieiaUtils.getBuildUrl(run));
-                bac.getMetadata().put("buildNumber", HygieiaUtils.getBuildNumber(run));
-                bac.getMetadata().put("jobUrl", HygieiaUtils.getJobUrl(run));
-                bac.getMetadata().put("jobName", HygieiaUtils.getJobName(run));
-                bac.getMetadata().put("instanceUrl", HygieiaUtils.getInstanceUrl(run, listener));
-
-
-                if (run instanceof AbstractBuild) {
-                    AbstractBuild abstractBuild = (AbstractBuild) run;
-                    String scmUrl = HygieiaUtils.getScmUrl(abstractBuild, listener);
-                    String scmBranch = HygieiaUtils.getScmBranch(abstractBuild, listener);
-                    String scmRevisionNumber = HygieiaUtils.getScmRevisionNumber(abstractBuild, listener);
-
-                    if (scmUrl != null) {
-                        bac.getMetadata().put("scmUrl", scmUrl);
-                    }
-                    if (scmBranch != null) {
-                        if (scmBranch.startsWith("origin/")) {
-                            scmBranch = scmBranch.substring(7);
-                        }
-                        bac.getMetadata().put("scmBranch", scmBranch);
-                    }
-                    if (scmRevisionNumber != null) {
-                        bac.getMetadata().put("scmRevisionNumber", scmRevisionNumber);
-                    }
+                bac.getSourceChangeSet().addAll(commits);
+                bac.getMetadata().putAll(metadata);
+                String checksum = checksums.get(f.getRemote());
+                if (checksum != null) {
+                    bac.getMetadata().put("sha256", checksum);
                 }
 
                 artifacts.add(bac);
@@ -140,6 +123,81 @@ public class ArtifactBuilder {
         return artifacts;
     }
 
+    private List<SCM> getCommits() {
+        List<ChangeLogSet<? extends ChangeLogSet.Entry>> changeLogSets = new ArrayList<>();
+        if (run instanceof WorkflowRun) {
+            changeLogSets = ((WorkflowRun) run).getChangeSets();
+        } else if (run instanceof AbstractBuild) {
+            ChangeLogSet<? extends ChangeLogSet.Entry> sets = ((AbstractBuild) run).getChangeSet();
+            changeLogSets = sets.isEmptySet() ? Collections.<ChangeLogSet<? extends ChangeLogSet.Entry>>emptyList() : Collections.<ChangeLogSet<? extends ChangeLogSet.Entry>>singletonList(sets);
+        }
+        return Collections.unmodifiableList(new CommitBuilder(changeLogSets).getCommits());
+    }
+
+    private Map<String, String> getChecksums(List<FilePath> artifactFiles) throws InterruptedException {
+        try {
+            return HygieiaUtils.getArtifactChecksums(rootDirectory, artifactFiles);
+        } catch (IOException e) {
+            // the artifacts are still worth publishing without their checksums
+            listener.getLogger().println("Hygieia BuildArtifact Publisher - Unable to compute checksums: " + e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    private Map<String, String> getRunMetadata() {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("buildUrl", HygieiaUtils.getBuildUrl(run));
+        metadata.put("buildNumber", HygieiaUtils.getBuildNumber(run));
+        metadata.put("jobUrl", HygieiaUtils.getJobUrl(run));
+        metadata.put("jobName", HygieiaUtils.getJobName(run));
+        metadata.put("instanceUrl", HygieiaUtils.getInstanceUrl(run, listener));
+
+        if (run instanceof AbstractBuild) {
+            AbstractBuild abstractBuild = (AbstractBuild) run;
+            String scmUrl = HygieiaUtils.getScmUrl(abstractBuild, listener);
+            String scmBranch = HygieiaUtils.getScmBranch(abstractBuild, listener);
+            String scmRevisionNumber = HygieiaUtils.getScmRevisionNumber(abstractBuild, listener);
+
+            if (scmUrl != null) {
+                metadata.put("scmUrl", scmUrl);
+            }
+            if (scmBranch != null) {
+                if (scmBranch.startsWith("origin/")) {
+                    scmBranch = scmBranch.substring(7);
+                }
+                metadata.put("scmBranch", scmBranch);
+            }
+            if (scmRevisionNumber != null) {
+                metadata.put("scmRevisionNumber", scmRevisionNumber);
+            }
+        }
+        return Collections.unmodifiableMap(metadata);
+    }
+
+    private void expandEnvironment() {
+        if (environmentExpanded) {
+            return;
+        }
+        environmentExpanded = true;
+        EnvVars envVars = getEnvironment(run, listener);
+        if (envVars != null) {
+            version = envVars.expand(version);
+            group = envVars.expand(group);
+            directory = envVars.expand(directory);
+            filePattern = envVars.expand(filePattern);
+        }
+    }
+
+    /**
+     * Has the artifact files found by the walk of the workspace shared with the other publishers of the run.
+     */
+    public ArtifactBuilder withWorkspaceIndex(WorkspaceIndex workspaceIndex) {
+        expandEnvironment();
+        workspaceIndex.register(INDEX_CONSUMER, rootDirectory, filePattern);
+        this.workspaceIndex = workspaceIndex;
+        return this;
+    }
+
     public Set<BinaryArtifactCreateRequest> getArtifacts() {
         return buildArtifacts();
     }
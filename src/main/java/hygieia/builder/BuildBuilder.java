@@ -9,8 +9,10 @@ import hudson.model.Run;
 import hudson.model.TaskListener;
 import hudson.scm.ChangeLogSet;
 import hygieia.utils.HygieiaUtils;
+import jenkins.plugins.hygieia.PublishedChangeSets;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -20,10 +22,20 @@ import static hygieia.utils.HygieiaUtils.getRepoBranch;
 
 public class BuildBuilder {
 
+    static final int MAX_COMMITS_PER_REQUEST = Integer.getInteger(BuildBuilder.class.getName() + ".maxCommitsPerRequest", 1000);
+
     public BuildBuilder() {
     }
 
     public BuildDataCreateRequest createBuildRequestFromRun(Run<?, ?> run, String jenkinsName, TaskListener listener, BuildStatus result, boolean buildChangeSet, LinkedList<BuildStage> stages, String startedBy) {
+        return createBuildRequestFromRun(run, jenkinsName, listener, result, buildChangeSet, stages, startedBy, null);
+    }
+
+    /**
+     * @param apiEndpoint the endpoint the request is for, leaving out the commits earlier builds of the job have
+     *                    published there; {@code null} to send every commit
+     */
+    public BuildDataCreateRequest createBuildRequestFromRun(Run<?, ?> run, String jenkinsName, TaskListener listener, BuildStatus result, boolean buildChangeSet, LinkedList<BuildStage> stages, String startedBy, String apiEndpoint) {
 
         BuildDataCreateRequest request = new BuildDataCreateRequest();
         request.setNiceName(jenkinsName);
@@ -44,7 +56,7 @@ public class BuildBuilder {
                 request.setCodeRepos(getRepoBranch(run));
                 if( run instanceof WorkflowRun) {
                     WorkflowRun wr = (WorkflowRun) run;
-                    request.setSourceChangeSet(getCommitList(wr.getChangeSets()));
+                    request.setSourceChangeSet(getCommitList(run, listener, apiEndpoint, wr.getChangeSets()));
                 }
             }
         }
@@ -75,7 +87,7 @@ public class BuildBuilder {
                 request.setCodeRepos(getRepoBranch(build));
                 ChangeLogSet<? extends ChangeLogSet.Entry> sets = build.getChangeSet();
                 List<ChangeLogSet<? extends ChangeLogSet.Entry>> changeLogSets = sets.isEmptySet() ? Collections.emptyList() : Collections.singletonList(sets);
-                request.setSourceChangeSet(getCommitList(changeLogSets));
+                request.setSourceChangeSet(getCommitList(build, listener, null, changeLogSets));
             }
         } else {
             request.setBuildStatus(BuildStatus.InProgress.toString());
@@ -83,9 +95,39 @@ public class BuildBuilder {
         return request;
     }
     
-    private List<SCM> getCommitList(List<ChangeLogSet<? extends ChangeLogSet.Entry>> changeLogSets) {
+    /**
+     * Only the commits no earlier build of the job has published to {@code apiEndpoint} are sent, at most
+     * {@link #MAX_COMMITS_PER_REQUEST} of them. The commits past the cap are dropped for good: they are recorded as
+     * published along with the others, so a later build or a replay does not send them as new, and the change set
+     * ends with a {@link #overflowSummary summary entry} telling the dashboard how many were left out.
+     */
+    private List<SCM> getCommitList(Run<?, ?> run, TaskListener listener, String apiEndpoint, List<ChangeLogSet<? extends ChangeLogSet.Entry>> changeLogSets) {
         CommitBuilder commitBuilder = new CommitBuilder(changeLogSets);
-        return commitBuilder.getCommits();
+        List<SCM> commits = commitBuilder.getCommits();
+        List<SCM> unpublished = PublishedChangeSets.getUnpublished(run, apiEndpoint, commits);
+        if (unpublished.size() < commits.size()) {
+            listener.getLogger().println("Hygieia: " + (commits.size() - unpublished.size()) + " commit(s) already published by earlier builds");
+        }
+        if (MAX_COMMITS_PER_REQUEST > 0 && unpublished.size() > MAX_COMMITS_PER_REQUEST) {
+            int overflow = unpublished.size() - MAX_COMMITS_PER_REQUEST;
+            listener.getLogger().println("Hygieia: Publishing " + MAX_COMMITS_PER_REQUEST + " of " + unpublished.size()
+                    + " new commit(s), " + overflow + " more not sent");
+            PublishedChangeSets.recordPublished(run, apiEndpoint, unpublished.subList(MAX_COMMITS_PER_REQUEST, unpublished.size()));
+            unpublished = new ArrayList<>(unpublished.subList(0, MAX_COMMITS_PER_REQUEST));
+            unpublished.add(overflowSummary(overflow));
+        }
+        return unpublished;
+    }
+
+    /**
+     * An entry without a revision standing for the {@code overflow} commits left out of a change set, counted in its
+     * {@link SCM#getNumberOfChanges() number of changes}.
+     */
+    static SCM overflowSummary(int overflow) {
+        SCM summary = new SCM();
+        summary.setScmCommitLog(overflow + " more commit(s) not published, over the limit of " + MAX_COMMITS_PER_REQUEST + " per build");
+        summary.setNumberOfChanges(overflow);
+        return summary;
     }
 
 }
@@ -3,13 +3,26 @@ package hygieia.builder;
 import com.capitalone.dashboard.model.SCM;
 import hudson.scm.ChangeLogSet;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class CommitBuilder {
     private static final Logger logger = Logger.getLogger(CommitBuilder.class.getName());
-    private List<SCM> commitList = new LinkedList<>();
+    private List<SCM> commitList = new ArrayList<>();
+    // revisions already in commitList
+    private final Set<String> revisions = new HashSet<>();
+    // change log sets already walked, a parent is shared by many entries
+    private final Set<ChangeLogSet> visited = Collections.newSetFromMap(new IdentityHashMap<ChangeLogSet, Boolean>());
 
 
     public CommitBuilder(ChangeLogSet changeLogSet) {
@@ -23,9 +36,23 @@ public class CommitBuilder {
     }
 
 
+    /**
+     * Walks the entries of {@code changeLogSet} and, depth first, those of any other change log set an entry
+     * belongs to, keeping the first commit seen for every revision.
+     */
     private void buildCommits(ChangeLogSet changeLogSet) {
-        for (Object o : changeLogSet.getItems()) {
-            ChangeLogSet.Entry entry = (ChangeLogSet.Entry) o;
+        if (!visited.add(changeLogSet)) {
+            return;
+        }
+        Deque<Iterator<Object>> sets = new ArrayDeque<>();
+        sets.push(Arrays.asList(changeLogSet.getItems()).iterator());
+        while (!sets.isEmpty()) {
+            Iterator<Object> items = sets.peek();
+            if (!items.hasNext()) {
+                sets.pop();
+                continue;
+            }
+            ChangeLogSet.Entry entry = (ChangeLogSet.Entry) items.next();
             SCM commit = new SCM();
 
             if (entry.getAffectedFiles() != null) {
@@ -41,12 +68,15 @@ public class CommitBuilder {
             commit.setScmCommitLog(entry.getMsg());
             commit.setScmCommitTimestamp(entry.getTimestamp()); //Timestamp will be -1 mostly per Jenkins documentation - as commits span over time.
             commit.setScmRevisionNumber(entry.getCommitId());
-            if (isNewCommit(commit)) {
-                logger.info("Adding commit:" + commit.getScmUrl()+":"+commit.getScmBranch()+":"+commit.getScmRevisionNumber()+":"+commit.getScmCommitLog());
+            if (revisions.add(commit.getScmRevisionNumber())) {
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.fine("Adding commit:" + commit.getScmUrl()+":"+commit.getScmBranch()+":"+commit.getScmRevisionNumber()+":"+commit.getScmCommitLog());
+                }
                 commitList.add(commit);
             }
-            if ((entry.getParent() != null) && (!changeLogSet.equals(entry.getParent()))) {
-                buildCommits(entry.getParent());
+            ChangeLogSet parent = entry.getParent();
+            if ((parent != null) && visited.add(parent)) {
+                sets.push(Arrays.asList(parent.getItems()).iterator());
             }
         }
     }
@@ -58,16 +88,6 @@ public class CommitBuilder {
         }
     }
 
-
-    private boolean isNewCommit(SCM commit) {
-        for (SCM c : commitList) {
-            if (c.getScmRevisionNumber().equals(commit.getScmRevisionNumber())) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     public List<SCM> getCommits() {
         return commitList;
     }
@@ -10,6 +10,7 @@ import hudson.model.AbstractBuild;
 import hudson.model.Run;
 import hudson.model.TaskListener;
 import hygieia.utils.HygieiaUtils;
+import hygieia.utils.WorkspaceIndex;
 import jenkins.plugins.hygieia.HygieiaPublisher;
 import jenkins.plugins.hygieia.workflow.HygieiaDeployPublishStep;
 import org.apache.commons.lang3.StringUtils;
@@ -34,6 +35,10 @@ public class DeployBuilder {
     private HygieiaPublisher hygieiaPublisher;
     private HygieiaDeployPublishStep hygieiaDeployPublishStep;
     private FilePath filePath;
+    private WorkspaceIndex workspaceIndex;
+
+    // name the deploy artifact files are registered under in a WorkspaceIndex
+    static final String INDEX_CONSUMER = DeployBuilder.class.getName();
 
     public DeployBuilder(AbstractBuild build, HygieiaPublisher hygieiaPublisher, TaskListener listener, String buildId) {
         this.run = build;
@@ -88,11 +93,19 @@ public class DeployBuilder {
         }
 
         try {
-            AbstractBuild build = (run instanceof AbstractBuild) ? (AbstractBuild) run : null;
-            rootDirectory = (run instanceof WorkflowRun) ? new FilePath(filePath, StringUtils.trim(hygieiaDeployPublishStep.getArtifactDirectory()))
-            : new FilePath(Objects.requireNonNull(build.getWorkspace()), StringUtils.trim(hygieiaDeploy.getArtifactDirectory()));
+            rootDirectory = getRootDirectory();
             listener.getLogger().println("Hygieia Deployment Publisher - Looking for file pattern '" + artifactName + "' in directory " + rootDirectory);
-            List<FilePath> artifactFiles = HygieiaUtils.getArtifactFiles(rootDirectory, artifactName, new ArrayList<FilePath>());
+            List<FilePath> artifactFiles = null != workspaceIndex ? workspaceIndex.getFiles(INDEX_CONSUMER)
+                    : HygieiaUtils.getArtifactFiles(rootDirectory, artifactName, new ArrayList<FilePath>());
+            if (artifactFiles.isEmpty()) {
+                return deploys;
+            }
+
+            // the build details are those of the run, the same for every deployed file
+            String startedBy = HygieiaUtils.getUserID(run, listener);
+            BuildDataCreateRequest buildDataCreateRequest = (run instanceof WorkflowRun)
+                    ? new BuildBuilder().createBuildRequestFromRun(run, jenkinsName, listener, result, false, new LinkedList<BuildStage>(), startedBy)
+                    : new BuildBuilder().createBuildRequest((AbstractBuild) run, jenkinsName, listener, true, false, new LinkedList<BuildStage>(), startedBy);
 
             for (FilePath f : artifactFiles) {
                 listener.getLogger().println("Hygieia Deployment Publisher: Processing  file: " + f.getRemote());
@@ -105,11 +118,6 @@ public class DeployBuilder {
                 
                 bac.setArtifactVersion(artifactVersion);
                 bac.setArtifactName(artifactName);
-                String startedBy = HygieiaUtils.getUserID(run, listener);
-                BuildDataCreateRequest buildDataCreateRequest = (run instanceof WorkflowRun)
-                        ? new BuildBuilder().createBuildRequestFromRun(run, jenkinsName, listener, result, false, new LinkedList<BuildStage>(), startedBy)
-                        : new BuildBuilder().createBuildRequest((AbstractBuild) run, jenkinsName, listener, true, false, new LinkedList<BuildStage>(), startedBy);
-
                 bac.setDeployStatus(buildDataCreateRequest.getBuildStatus());
                 bac.setDuration(buildDataCreateRequest.getDuration());
                 bac.setEndTime(buildDataCreateRequest.getEndTime());
@@ -132,6 +140,32 @@ public class DeployBuilder {
         return deploys;
     }
 
+    private FilePath getRootDirectory() {
+        AbstractBuild build = (run instanceof AbstractBuild) ? (AbstractBuild) run : null;
+        return (run instanceof WorkflowRun) ? new FilePath(filePath, StringUtils.trim(hygieiaDeployPublishStep.getArtifactDirectory()))
+                : new FilePath(Objects.requireNonNull(build.getWorkspace()), StringUtils.trim(hygieiaDeploy.getArtifactDirectory()));
+    }
+
+    /**
+     * Has the deploy artifact files found by the walk of the workspace shared with the other publishers of the run.
+     */
+    public DeployBuilder withWorkspaceIndex(WorkspaceIndex workspaceIndex) {
+        boolean retrieveFromAbstractBuild = this.run instanceof AbstractBuild && hygieiaPublisher != null && hygieiaDeploy != null;
+        String artifactName = StringUtils.trim(retrieveFromAbstractBuild ? hygieiaDeploy.getArtifactName() : hygieiaDeployPublishStep.getArtifactName());
+        try {
+            EnvVars envVars = run.getEnvironment(listener);
+            if (envVars != null) {
+                artifactName = envVars.expand(artifactName);
+            }
+        } catch (IOException | InterruptedException e) {
+            // look for the files separately, with whatever buildDeployRequests makes of the environment
+            return this;
+        }
+        workspaceIndex.register(INDEX_CONSUMER, getRootDirectory(), artifactName);
+        this.workspaceIndex = workspaceIndex;
+        return this;
+    }
+
     public Set<DeployDataCreateRequest> getDeploys() {
         return buildDeployRequests();
     }
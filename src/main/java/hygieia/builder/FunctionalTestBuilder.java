@@ -2,18 +2,21 @@ package hygieia.builder;
 
 import com.capitalone.dashboard.model.BuildStage;
 import com.capitalone.dashboard.model.BuildStatus;
+import com.capitalone.dashboard.model.TestCapability;
 import com.capitalone.dashboard.model.TestResult;
-import com.capitalone.dashboard.model.quality.QualityVisitee;
 import com.capitalone.dashboard.request.BuildDataCreateRequest;
 import com.capitalone.dashboard.request.TestDataCreateRequest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.collect.Lists;
 import hudson.EnvVars;
 import hudson.FilePath;
 import hudson.model.Run;
 import hudson.model.TaskListener;
+import hygieia.transformer.CucumberJsonParserFilter;
 import hygieia.transformer.TestResultVisitor;
 import hygieia.utils.HygieiaUtils;
+import hygieia.utils.WorkspaceIndex;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -25,22 +28,51 @@ import java.util.logging.Logger;
 
 public class FunctionalTestBuilder {
     private static final Logger logger = Logger.getLogger(FunctionalTestBuilder.class.getName());
+    // doc strings longer than this are cut down while the cucumber report is streamed
+    private static final int MAX_DOC_STRING_LENGTH = Integer.getInteger(FunctionalTestBuilder.class.getName() + ".maxDocStringLength",
+            CucumberJsonParserFilter.DEFAULT_MAX_DOC_STRING_LENGTH);
+    // name the test result files are registered under in a WorkspaceIndex
+    static final String INDEX_CONSUMER = FunctionalTestBuilder.class.getName();
     private ObjectMapper objectMapper;
+    private WorkspaceIndex workspaceIndex;
 
     public FunctionalTestBuilder(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
     }
 
-    private TestResult buildTestResults(Run run, TaskListener listener, String filePattern, FilePath filePath, String directory, BuildDataCreateRequest buildDataCreateRequest, String testType) {
-        List<FilePath> testFiles = null;
+    /**
+     * Has the test result files found by the walk of the workspace shared with the other publishers of the run.
+     * The directory and pattern must be the ones later given to {@code getTestDataCreateRequest}.
+     */
+    public FunctionalTestBuilder withWorkspaceIndex(WorkspaceIndex workspaceIndex, Run run, TaskListener listener, FilePath filePath, String directory, String filePattern) {
+        try {
+            EnvVars envVars = run.getEnvironment(listener);
+            if (envVars != null) {
+                filePattern = envVars.expand(filePattern);
+            }
+        } catch (IOException | InterruptedException e) {
+            // look for the files separately
+            return this;
+        }
+        workspaceIndex.register(INDEX_CONSUMER, filePath.withSuffix(directory), filePattern);
+        this.workspaceIndex = workspaceIndex;
+        return this;
+    }
+
+    private TestResult buildTestResults(Run run, TaskListener listener, String filePattern, FilePath filePath, String directory, BuildDataCreateRequest buildDataCreateRequest, String testType, boolean failuresOnly) {
+        List<TestCapability> capabilities = new ArrayList<>();
         try {
             EnvVars envVars = run.getEnvironment(listener);
             FilePath rootDirectory = filePath.withSuffix(directory);
             if (envVars != null) {
                 filePattern = envVars.expand(filePattern);
             }
-            testFiles = Lists.newArrayList(HygieiaUtils.getArtifactFiles(rootDirectory, filePattern, new ArrayList<FilePath>()));
-            listener.getLogger().println("Hygieia Test Result Publisher - Looking for file pattern '" + filePattern + "' in directory " + rootDirectory.getRemote());
+            // discovery and parsing run next to the workspace, only the capabilities come back
+            TestCapabilityCallable callable = new TestCapabilityCallable(filePattern, testType, String.valueOf(buildDataCreateRequest.getNumber()), MAX_DOC_STRING_LENGTH, listener);
+            if (null != workspaceIndex) {
+                callable.withTestFiles(workspaceIndex.getFiles(INDEX_CONSUMER));
+            }
+            capabilities = readCapabilities(objectMapper, rootDirectory.act(callable));
         } catch (IOException e) {
             e.printStackTrace();
             listener.getLogger().println("Hygieia Test Result Publisher" + Arrays.toString(e.getStackTrace()));
@@ -48,28 +80,26 @@ public class FunctionalTestBuilder {
             e.printStackTrace();
             listener.getLogger().println("Hygieia Test Result Publisher - InterruptedException on " + Arrays.toString(e.getStackTrace()));
         }
-        return getCapabilities(testFiles, listener, String.valueOf(buildDataCreateRequest.getNumber()), buildDataCreateRequest, testType);
+        return getCapabilities(capabilities, buildDataCreateRequest, testType, failuresOnly);
     }
 
-    private TestResult getCapabilities(List<FilePath> testFiles, TaskListener listener, String executionId, BuildDataCreateRequest buildDataCreateRequest, String testType) {
+    /**
+     * Turns the value returned by a {@link TestCapabilityCallable} back into test capabilities.
+     */
+    static List<TestCapability> readCapabilities(ObjectMapper objectMapper, String capabilitiesJson) throws IOException {
+        return objectMapper.readerFor(new TypeReference<List<TestCapability>>() {})
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(capabilitiesJson);
+    }
 
-        TestResultVisitor cucumberTransformer = new TestResultVisitor(testType, buildDataCreateRequest);
-        for (FilePath file : testFiles) {
-            try {
-                listener.getLogger().println("Hygieia Test Publisher: Processing file: " + file.getRemote());
-                QualityVisitee report = objectMapper.readValue(file.readToString(), QualityVisitee.class);
-                cucumberTransformer.setCurrentDescriprion(getCapabilityDescription(file));
-                report.accept(cucumberTransformer);
-            } catch (IOException e) {
-                listener.getLogger().println("Hygieia Test Publisher: Processing read error: " + file.getRemote());
-            } catch (InterruptedException e) {
-                listener.getLogger().println("Hygieia Test Publisher: Processing interrupted: " + file.getRemote());
-            }
-        }
-        return cucumberTransformer.produceResult();
+    private TestResult getCapabilities(List<TestCapability> capabilities, BuildDataCreateRequest buildDataCreateRequest, String testType, boolean failuresOnly) {
+        TestResultVisitor testResultVisitor = new TestResultVisitor(testType, buildDataCreateRequest);
+        testResultVisitor.setFailuresOnly(failuresOnly);
+        testResultVisitor.addCapabilities(capabilities);
+        return testResultVisitor.produceResult();
     }
 
-    private static String getCapabilityDescription(FilePath file) {
+    static String getCapabilityDescription(FilePath file) {
         String newFileName = file.getRemote().replace(file.getName(), "");
         boolean isUnix = newFileName.endsWith("/");
         int lastFolderIndex;
@@ -87,12 +117,16 @@ public class FunctionalTestBuilder {
 
 
     public TestDataCreateRequest getTestDataCreateRequest(Run run, TaskListener listener, BuildStatus buildStatus, FilePath filePath, String applicationName, String environmentName, String testType, String filePattern, String directory, String jenkinsName, String buildId) {
+        return getTestDataCreateRequest(run, listener, buildStatus, filePath, applicationName, environmentName, testType, filePattern, directory, jenkinsName, buildId, false);
+    }
+
+    public TestDataCreateRequest getTestDataCreateRequest(Run run, TaskListener listener, BuildStatus buildStatus, FilePath filePath, String applicationName, String environmentName, String testType, String filePattern, String directory, String jenkinsName, String buildId, boolean failuresOnly) {
 
         String startedBy = HygieiaUtils.getUserID(run, listener);
         BuildDataCreateRequest buildDataCreateRequest = new BuildBuilder()
                 .createBuildRequestFromRun(run, jenkinsName, listener, buildStatus, false, new LinkedList<BuildStage>(), startedBy);
 
-        TestResult testResult = buildTestResults(run, listener, filePattern, filePath, directory, buildDataCreateRequest, testType);
+        TestResult testResult = buildTestResults(run, listener, filePattern, filePath, directory, buildDataCreateRequest, testType, failuresOnly);
 
         if (testResult != null) {
             TestDataCreateRequest request = new TestDataCreateRequest();
@@ -21,10 +21,21 @@ public class GenericCollectorItemBuilder {
         return new GenericCollectorItemBuilder();
     }
 
+    /**
+     * @return the pattern of the log lines holding the data for a generic collector item, the data being its only group
+     */
+    public static Pattern compileLogPattern(@NotNull String pattern) {
+        return Pattern.compile(".*" + Pattern.quote(pattern) + "(.*)");
+    }
+
     public List<GenericCollectorItemCreateRequest> getRequests(@NotNull Run<?, ?> run,@NotNull String toolName,@NotNull String pattern, String buildId) throws IOException {
+        return getRequests(run, toolName, compileLogPattern(pattern), buildId);
+    }
+
+    public List<GenericCollectorItemCreateRequest> getRequests(@NotNull Run<?, ?> run,@NotNull String toolName,@NotNull Pattern logPattern, String buildId) throws IOException {
         List<GenericCollectorItemCreateRequest> requests = new ArrayList<>();
-        pattern = ".*" + Pattern.quote(pattern) + "(.*)";
-        Set<String> matchedData = HygieiaUtils.getMatchedLinesFromLog(run, pattern);
+        String pattern = logPattern.pattern();
+        Set<String> matchedData = HygieiaUtils.getMatchedLinesFromLog(run, logPattern);
         if (CollectionUtils.isEmpty(matchedData)) return requests;
         for (String line: matchedData) {
             GenericCollectorItemCreateRequest gc = new GenericCollectorItemCreateRequest();
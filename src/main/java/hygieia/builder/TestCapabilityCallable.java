@@ -0,0 +1,180 @@
+package hygieia.builder;
+
+import com.capitalone.dashboard.model.TestCapability;
+import com.capitalone.dashboard.model.quality.QualityVisitee;
+import com.capitalone.dashboard.request.BuildDataCreateRequest;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import hudson.FilePath;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hygieia.transformer.QualityVisiteeDeserializer;
+import hygieia.transformer.TestResultVisitor;
+import hygieia.utils.HygieiaUtils;
+import jenkins.MasterToSlaveFileCallable;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Discovers and transforms test reports on the node that holds the workspace. Only the resulting
+ * test capabilities (as JSON) are sent back over the remoting channel, never the raw report files.
+ * <p>
+ * Files are parsed in parallel on a fork-join pool sized to the node's cores. Each file gets its own
+ * {@link TestResultVisitor}, and the capabilities are merged back in path order so the result does
+ * not depend on scheduling.
+ */
+public class TestCapabilityCallable extends MasterToSlaveFileCallable<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String filePattern;
+    private final String testType;
+    private final String executionId;
+    private final int maxDocStringLength;
+    private final TaskListener listener;
+    private List<String> indexedFiles;
+
+    public TestCapabilityCallable(String filePattern, String testType, String executionId, int maxDocStringLength, TaskListener listener) {
+        this.filePattern = filePattern;
+        this.testType = testType;
+        this.executionId = executionId;
+        this.maxDocStringLength = maxDocStringLength;
+        this.listener = listener;
+    }
+
+    /**
+     * Parses these files, already found by a {@link hygieia.utils.WorkspaceIndex}, instead of looking for the pattern.
+     */
+    public TestCapabilityCallable withTestFiles(List<FilePath> files) {
+        indexedFiles = new ArrayList<>();
+        for (FilePath file : files) {
+            indexedFiles.add(file.getRemote());
+        }
+        return this;
+    }
+
+    @Override
+    public String invoke(File rootDirectory, VirtualChannel channel) throws IOException, InterruptedException {
+        ObjectMapper objectMapper = newReportObjectMapper(maxDocStringLength);
+
+        List<FilePath> testFiles = new ArrayList<>();
+        if (null == indexedFiles) {
+            listener.getLogger().println("Hygieia Test Result Publisher - Looking for file pattern '" + filePattern + "' in directory " + rootDirectory.getPath());
+            HygieiaUtils.getArtifactFiles(new FilePath(rootDirectory), filePattern, testFiles);
+        } else {
+            listener.getLogger().println("Hygieia Test Result Publisher - Using " + indexedFiles.size() + " file(s) matching pattern '"
+                    + filePattern + "' from the workspace index of " + rootDirectory.getPath());
+            for (String testFile : indexedFiles) {
+                testFiles.add(new FilePath(new File(testFile)));
+            }
+        }
+        Collections.sort(testFiles, new Comparator<FilePath>() {
+            @Override
+            public int compare(FilePath o1, FilePath o2) {
+                return o1.getRemote().compareTo(o2.getRemote());
+            }
+        });
+
+        List<TestCapability> capabilities;
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            capabilities = pool.invoke(new ParseTask(testFiles, 0, testFiles.size(), objectMapper));
+        } catch (CancellationException e) {
+            InterruptedException interrupted = new InterruptedException("Hygieia Test Publisher: Interrupted while processing test results");
+            interrupted.initCause(e);
+            throw interrupted;
+        } finally {
+            pool.shutdown();
+        }
+        return objectMapper.writeValueAsString(capabilities);
+    }
+
+    private List<TestCapability> parse(FilePath file, ObjectMapper objectMapper) {
+        listener.getLogger().println("Hygieia Test Publisher: Processing file: " + file.getRemote());
+
+        // the transformers only need the build number to stamp the execution id
+        BuildDataCreateRequest buildDataCreateRequest = new BuildDataCreateRequest();
+        buildDataCreateRequest.setNumber(executionId);
+        TestResultVisitor visitor = new TestResultVisitor(testType, buildDataCreateRequest, FunctionalTestBuilder.getCapabilityDescription(file));
+        try (InputStream in = file.read()) {
+            if (isXml(file)) {
+                visitor.visitJunitXml(in);
+            } else {
+                QualityVisitee report = objectMapper.readValue(in, QualityVisitee.class);
+                report.accept(visitor);
+            }
+        } catch (IOException | XMLStreamException e) {
+            listener.getLogger().println("Hygieia Test Publisher: Processing read error: " + file.getRemote());
+        } catch (InterruptedException e) {
+            // fork-join tasks cannot throw it, cancel the whole invocation instead of skipping the file
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while processing " + file.getRemote());
+        }
+        return visitor.getCapabilities();
+    }
+
+    private static boolean isXml(FilePath file) {
+        return StringUtils.endsWithIgnoreCase(file.getName(), ".xml");
+    }
+
+    static ObjectMapper newReportObjectMapper(int maxDocStringLength) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        SimpleModule module = new SimpleModule();
+        module.addDeserializer(QualityVisitee.class, new QualityVisiteeDeserializer(maxDocStringLength));
+        objectMapper.registerModule(module);
+        return objectMapper;
+    }
+
+    /**
+     * Splits the file list in halves until a single file is left, then merges left before right.
+     */
+    private final class ParseTask extends RecursiveTask<List<TestCapability>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<FilePath> files;
+        private final int from;
+        private final int to;
+        private final transient ObjectMapper objectMapper;
+
+        ParseTask(List<FilePath> files, int from, int to, ObjectMapper objectMapper) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected List<TestCapability> compute() {
+            if (to - from == 0) {
+                return new ArrayList<>();
+            }
+            if (to - from == 1) {
+                return parse(files.get(from), objectMapper);
+            }
+            int middle = (from + to) >>> 1;
+            ParseTask left = new ParseTask(files, from, middle, objectMapper);
+            ParseTask right = new ParseTask(files, middle, to, objectMapper);
+            left.fork();
+            List<TestCapability> rightResult = right.compute();
+            List<TestCapability> merged = new ArrayList<>(left.join());
+            merged.addAll(rightResult);
+            return merged;
+        }
+    }
+}
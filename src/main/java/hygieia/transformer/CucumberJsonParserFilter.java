@@ -0,0 +1,109 @@
+package hygieia.transformer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Drops the parts of a Cucumber JSON report that never reach a TestCaseStep while the tokens are read.
+ * <p>
+ * {@code embeddings} (base64 screenshots) and {@code output} are skipped without their text ever being
+ * decoded, and doc string values longer than the configured limit are cut down before a String is built.
+ */
+public class CucumberJsonParserFilter extends JsonParserDelegate {
+
+    public static final int DEFAULT_MAX_DOC_STRING_LENGTH = 4096;
+
+    private static final Set<String> SKIPPED_FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("embeddings", "output")));
+    private static final String DOC_STRING = "doc_string";
+    private static final String DOC_STRING_VALUE = "value";
+
+    private final int maxDocStringLength;
+
+    public CucumberJsonParserFilter(JsonParser delegate, int maxDocStringLength) {
+        super(delegate);
+        this.maxDocStringLength = maxDocStringLength;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        JsonToken token = delegate.nextToken();
+        while (token == JsonToken.FIELD_NAME && SKIPPED_FIELDS.contains(delegate.getCurrentName())) {
+            delegate.nextToken();
+            delegate.skipChildren();
+            token = delegate.nextToken();
+        }
+        return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        JsonToken token = nextToken();
+        if (token == JsonToken.FIELD_NAME) {
+            token = nextToken();
+        }
+        return token;
+    }
+
+    @Override
+    public String nextFieldName() throws IOException {
+        return (nextToken() == JsonToken.FIELD_NAME) ? getCurrentName() : null;
+    }
+
+    @Override
+    public boolean nextFieldName(SerializableString str) throws IOException {
+        return (nextToken() == JsonToken.FIELD_NAME) && str.getValue().equals(getCurrentName());
+    }
+
+    @Override
+    public String nextTextValue() throws IOException {
+        return (nextToken() == JsonToken.VALUE_STRING) ? getText() : null;
+    }
+
+    @Override
+    public String getText() throws IOException {
+        if (isOversizedDocString()) {
+            return truncatedText();
+        }
+        return delegate.getText();
+    }
+
+    @Override
+    public String getValueAsString() throws IOException {
+        if (isOversizedDocString()) {
+            return truncatedText();
+        }
+        return delegate.getValueAsString();
+    }
+
+    @Override
+    public String getValueAsString(String defaultValue) throws IOException {
+        if (isOversizedDocString()) {
+            return truncatedText();
+        }
+        return delegate.getValueAsString(defaultValue);
+    }
+
+    private boolean isOversizedDocString() throws IOException {
+        if (delegate.getCurrentToken() != JsonToken.VALUE_STRING) {
+            return false;
+        }
+        JsonStreamContext context = delegate.getParsingContext();
+        return DOC_STRING_VALUE.equals(context.getCurrentName())
+                && context.getParent() != null
+                && DOC_STRING.equals(context.getParent().getCurrentName())
+                && delegate.getTextLength() > maxDocStringLength;
+    }
+
+    private String truncatedText() throws IOException {
+        return new String(delegate.getTextCharacters(), delegate.getTextOffset(), maxDocStringLength);
+    }
+}
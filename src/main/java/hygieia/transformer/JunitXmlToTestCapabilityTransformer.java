@@ -0,0 +1,216 @@
+package hygieia.transformer;
+
+import com.capitalone.dashboard.model.TestCapability;
+import com.capitalone.dashboard.model.TestCase;
+import com.capitalone.dashboard.model.TestCaseStatus;
+import com.capitalone.dashboard.model.TestSuite;
+import com.capitalone.dashboard.model.TestSuiteType;
+import com.capitalone.dashboard.request.BuildDataCreateRequest;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Converts a JUnit / Surefire XML report, streaming it with StAX rather than binding it to
+ * {@link com.capitalone.dashboard.model.quality.JunitXmlReport}.
+ * <p>
+ * Only the element names and attributes are looked at. Character data (system-out, system-err, stack
+ * traces) is passed over without being collected, so memory grows with the number of test cases and not
+ * with the size of the file. Both a single {@code testsuite} root and an aggregated {@code testsuites}
+ * root (including nested suites) are supported.
+ */
+public class JunitXmlToTestCapabilityTransformer {
+
+    private static final String TEST_SUITE = "testsuite";
+    private static final String TEST_CASE = "testcase";
+    private static final String FAILURE = "failure";
+    private static final String ERROR = "error";
+    private static final String SKIPPED = "skipped";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = newXmlInputFactory();
+
+    private BuildDataCreateRequest buildDataCreateRequest;
+    private String capabilityDescription;
+    private TestSuiteType testSuiteType;
+
+    public JunitXmlToTestCapabilityTransformer(BuildDataCreateRequest buildDataCreateRequest, String capabilityDescription, TestSuiteType testSuiteType) {
+        this.buildDataCreateRequest = buildDataCreateRequest;
+        this.capabilityDescription = capabilityDescription;
+        this.testSuiteType = testSuiteType;
+    }
+
+    public TestCapability convert(InputStream junitXml) throws XMLStreamException {
+        List<TestSuite> testSuites = new ArrayList<>();
+        Deque<TestSuite> openSuites = new ArrayDeque<>();
+        TestCase currentCase = null;
+
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(junitXml);
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String element = reader.getLocalName();
+                    if (TEST_SUITE.equals(element)) {
+                        openSuites.push(startTestSuite(reader));
+                    } else if (TEST_CASE.equals(element)) {
+                        currentCase = startTestCase(reader);
+                    } else if (currentCase != null && (FAILURE.equals(element) || ERROR.equals(element))) {
+                        currentCase.setStatus(TestCaseStatus.Failure);
+                    } else if (currentCase != null && SKIPPED.equals(element) && currentCase.getStatus() != TestCaseStatus.Failure) {
+                        currentCase.setStatus(TestCaseStatus.Skipped);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String element = reader.getLocalName();
+                    if (TEST_CASE.equals(element) && currentCase != null) {
+                        if (!openSuites.isEmpty()) {
+                            openSuites.peek().getTestCases().add(currentCase);
+                        }
+                        currentCase = null;
+                    } else if (TEST_SUITE.equals(element) && !openSuites.isEmpty()) {
+                        TestSuite testSuite = openSuites.pop();
+                        // aggregating suites that only wrap other suites carry no cases of their own
+                        if (!testSuite.getTestCases().isEmpty()) {
+                            testSuites.add(finishTestSuite(testSuite));
+                        }
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return buildCapability(testSuites);
+    }
+
+    private TestSuite startTestSuite(XMLStreamReader reader) {
+        TestSuite testSuite = new TestSuite();
+        testSuite.setId(reader.getAttributeValue(null, "id"));
+        testSuite.setType(testSuiteType);
+        testSuite.setDescription(reader.getAttributeValue(null, "name"));
+        return testSuite;
+    }
+
+    private TestCase startTestCase(XMLStreamReader reader) {
+        TestCase testCase = new TestCase();
+        String className = reader.getAttributeValue(null, "classname");
+        String name = reader.getAttributeValue(null, "name");
+        testCase.setId(StringUtils.isEmpty(className) ? name : className + "." + name);
+        testCase.setDescription(name);
+        testCase.setDuration(toMillis(reader.getAttributeValue(null, "time")));
+        testCase.setStatus(TestCaseStatus.Success);
+        return testCase;
+    }
+
+    private TestSuite finishTestSuite(TestSuite testSuite) {
+        long duration = 0;
+        int testCaseSkippedCount = 0, testCaseSuccessCount = 0, testCaseFailCount = 0, testCaseUnknownCount = 0;
+        for (TestCase testCase : testSuite.getTestCases()) {
+            duration += testCase.getDuration();
+            switch (testCase.getStatus()) {
+                case Success:
+                    testCaseSuccessCount++;
+                    break;
+                case Failure:
+                    testCaseFailCount++;
+                    break;
+                case Skipped:
+                    testCaseSkippedCount++;
+                    break;
+                default:
+                    testCaseUnknownCount++;
+                    break;
+            }
+        }
+        testSuite.setSuccessTestCaseCount(testCaseSuccessCount);
+        testSuite.setFailedTestCaseCount(testCaseFailCount);
+        testSuite.setSkippedTestCaseCount(testCaseSkippedCount);
+        testSuite.setTotalTestCaseCount(testSuite.getTestCases().size());
+        testSuite.setUnknownStatusCount(testCaseUnknownCount);
+        testSuite.setDuration(duration);
+
+        if (testCaseFailCount > 0) {
+            testSuite.setStatus(TestCaseStatus.Failure);
+        } else if (testCaseSkippedCount > 0) {
+            testSuite.setStatus(TestCaseStatus.Skipped);
+        } else if (testCaseSuccessCount > 0) {
+            testSuite.setStatus(TestCaseStatus.Success);
+        } else {
+            testSuite.setStatus(TestCaseStatus.Unknown);
+        }
+        return testSuite;
+    }
+
+    private TestCapability buildCapability(List<TestSuite> testSuites) {
+        TestCapability cap = new TestCapability();
+        cap.setType(testSuiteType);
+
+        cap.getTestSuites().addAll(testSuites);
+        long duration = 0;
+        int testSuiteSkippedCount = 0, testSuiteSuccessCount = 0, testSuiteFailCount = 0, testSuiteUnknownCount = 0;
+        for (TestSuite t : testSuites) {
+            duration += t.getDuration();
+            switch (t.getStatus()) {
+                case Success:
+                    testSuiteSuccessCount++;
+                    break;
+                case Failure:
+                    testSuiteFailCount++;
+                    break;
+                case Skipped:
+                    testSuiteSkippedCount++;
+                    break;
+                default:
+                    testSuiteUnknownCount++;
+                    break;
+            }
+        }
+        if (testSuiteFailCount > 0) {
+            cap.setStatus(TestCaseStatus.Failure);
+        } else if (testSuiteSkippedCount > 0) {
+            cap.setStatus(TestCaseStatus.Skipped);
+        } else if (testSuiteSuccessCount > 0) {
+            cap.setStatus(TestCaseStatus.Success);
+        } else {
+            cap.setStatus(TestCaseStatus.Unknown);
+        }
+        cap.setFailedTestSuiteCount(testSuiteFailCount);
+        cap.setSkippedTestSuiteCount(testSuiteSkippedCount);
+        cap.setSuccessTestSuiteCount(testSuiteSuccessCount);
+        cap.setUnknownStatusTestSuiteCount(testSuiteUnknownCount);
+        cap.setTotalTestSuiteCount(testSuites.size());
+        cap.setDuration(duration);
+        cap.setExecutionId(String.valueOf(buildDataCreateRequest.getNumber()));
+        cap.setDescription(this.capabilityDescription);
+        return cap;
+    }
+
+    /**
+     * JUnit reports times in (possibly fractional, sometimes grouped) seconds.
+     */
+    private static long toMillis(String seconds) {
+        if (StringUtils.isBlank(seconds)) {
+            return 0;
+        }
+        try {
+            return new BigDecimal(seconds.replace(",", "").trim()).movePointRight(3).longValue();
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static XMLInputFactory newXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+}
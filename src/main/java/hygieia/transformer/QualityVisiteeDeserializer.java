@@ -14,11 +14,22 @@ import java.io.IOException;
  * Created by stevegal on 2019-03-25.
  */
 public class QualityVisiteeDeserializer extends JsonDeserializer<QualityVisitee> {
+
+    private final int maxDocStringLength;
+
+    public QualityVisiteeDeserializer() {
+        this(CucumberJsonParserFilter.DEFAULT_MAX_DOC_STRING_LENGTH);
+    }
+
+    public QualityVisiteeDeserializer(int maxDocStringLength) {
+        this.maxDocStringLength = maxDocStringLength;
+    }
+
     @Override
     public QualityVisitee deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
         // this is a simple test, but we've only got 2 to distinguish between here, so this test will suffice
         if (JsonToken.START_ARRAY == jsonParser.currentToken()) {
-            return jsonParser.getCodec().readValue(jsonParser, CucumberJsonReport.class);
+            return jsonParser.getCodec().readValue(new CucumberJsonParserFilter(jsonParser, maxDocStringLength), CucumberJsonReport.class);
         }
         return jsonParser.getCodec().readValue(jsonParser, MochaJsSpecReport.class);
     }
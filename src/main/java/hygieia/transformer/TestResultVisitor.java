@@ -1,7 +1,9 @@
 package hygieia.transformer;
 
 import com.capitalone.dashboard.model.TestCapability;
+import com.capitalone.dashboard.model.TestCase;
 import com.capitalone.dashboard.model.TestResult;
+import com.capitalone.dashboard.model.TestSuite;
 import com.capitalone.dashboard.model.TestSuiteType;
 import com.capitalone.dashboard.model.quality.CheckstyleReport;
 import com.capitalone.dashboard.model.quality.CucumberJsonReport;
@@ -14,7 +16,11 @@ import com.capitalone.dashboard.model.quality.PmdReport;
 import com.capitalone.dashboard.model.quality.QualityVisitor;
 import com.capitalone.dashboard.request.BuildDataCreateRequest;
 
+import javax.xml.stream.XMLStreamException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -27,12 +33,18 @@ public class TestResultVisitor implements QualityVisitor<TestResult> {
     private String testType;
     private BuildDataCreateRequest buildDataCreateRequest;
     private String capabilityDescription;
+    private boolean failuresOnly;
 
     public TestResultVisitor(String testType, BuildDataCreateRequest buildDataCreateRequest) {
         this.testType = testType;
         this.buildDataCreateRequest = buildDataCreateRequest;
     }
 
+    public TestResultVisitor(String testType, BuildDataCreateRequest buildDataCreateRequest, String capabilityDescription) {
+        this(testType, buildDataCreateRequest);
+        this.capabilityDescription = capabilityDescription;
+    }
+
     @Override
     public TestResult produceResult() {
         return this.buildTestResultObject(this.capabilities, this.buildDataCreateRequest, this.testType);
@@ -40,12 +52,21 @@ public class TestResultVisitor implements QualityVisitor<TestResult> {
 
     @Override
     public void visit(JunitXmlReport junitXmlReport) {
-        // no impl... could expand
+        // no impl... junit xml is streamed through visitJunitXml instead of being bound with JAXB
     }
 
     @Override
     public void visit(JunitXmlReportV2 junitXmlReportV2) {
-        // no impl... could extend
+        // no impl... junit xml is streamed through visitJunitXml instead of being bound with JAXB
+    }
+
+    /**
+     * Adds the capability for a JUnit / Surefire XML report read straight from the stream.
+     */
+    public void visitJunitXml(InputStream junitXml) throws XMLStreamException {
+        JunitXmlToTestCapabilityTransformer transformer = new JunitXmlToTestCapabilityTransformer(this.buildDataCreateRequest, this.capabilityDescription, TestSuiteType.fromString(this.testType));
+        TestCapability capability = transformer.convert(junitXml);
+        this.capabilities.add(capability);
     }
 
     @Override
@@ -100,6 +121,9 @@ public class TestResultVisitor implements QualityVisitor<TestResult> {
             int testCapabilityUnknownCount = 0;
             // Calculate counts based on test suites
             for (TestCapability cap : capabilities) {
+                if (failuresOnly) {
+                    compact(cap);
+                }
                 switch (cap.getStatus()) {
                     case Success:
                         testCapabilitySuccessCount++;
@@ -124,7 +148,58 @@ public class TestResultVisitor implements QualityVisitor<TestResult> {
         return null;
     }
 
+    /**
+     * Drops passing test cases from every suite of the capability. What they contributed is kept in the
+     * suite counters, which are recounted here from the full case list before it is trimmed.
+     */
+    private static void compact(TestCapability capability) {
+        for (TestSuite suite : capability.getTestSuites()) {
+            int testCaseSkippedCount = 0, testCaseSuccessCount = 0, testCaseFailCount = 0, testCaseUnknownCount = 0, testCaseTotalCount = 0;
+            Iterator<TestCase> testCases = suite.getTestCases().iterator();
+            while (testCases.hasNext()) {
+                TestCase testCase = testCases.next();
+                testCaseTotalCount++;
+                switch (testCase.getStatus()) {
+                    case Success:
+                        testCaseSuccessCount++;
+                        testCases.remove();
+                        break;
+                    case Failure:
+                        testCaseFailCount++;
+                        break;
+                    case Skipped:
+                        testCaseSkippedCount++;
+                        break;
+                    default:
+                        testCaseUnknownCount++;
+                        break;
+                }
+            }
+            suite.setSuccessTestCaseCount(testCaseSuccessCount);
+            suite.setFailedTestCaseCount(testCaseFailCount);
+            suite.setSkippedTestCaseCount(testCaseSkippedCount);
+            suite.setUnknownStatusCount(testCaseUnknownCount);
+            suite.setTotalTestCaseCount(testCaseTotalCount);
+        }
+    }
+
+    /**
+     * Only failed, skipped and unknown test cases are sent in full; passing ones are rolled up into the
+     * counters of their suite.
+     */
+    public void setFailuresOnly(boolean failuresOnly) {
+        this.failuresOnly = failuresOnly;
+    }
+
     public void setCurrentDescriprion(String capabilityDescription) {
         this.capabilityDescription = capabilityDescription;
     }
+
+    public List<TestCapability> getCapabilities() {
+        return capabilities;
+    }
+
+    public void addCapabilities(Collection<TestCapability> capabilities) {
+        this.capabilities.addAll(capabilities);
+    }
 }
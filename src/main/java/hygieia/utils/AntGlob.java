@@ -0,0 +1,201 @@
+package hygieia.utils;
+
+import org.apache.commons.io.IOCase;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * An Ant-style glob compiled into a small automaton over path segments. {@code **} as a whole segment matches
+ * any number of directories, {@code *} and {@code ?} match within one name, and a pattern ending in {@code /}
+ * matches everything below it. A pattern without any {@code /}, such as {@code *.jar}, is matched against names
+ * at any depth, which is how artifact patterns have always been read; inside a name {@code **} means {@code *}.
+ * <p>
+ * Ant itself only matches such a pattern directly in the base directory, see {@link #compile(String, String, boolean)}.
+ * <p>
+ * A walk feeds the automaton one name at a time with {@link #advance}; once the states left are
+ * {@link #isExhausted exhausted} nothing below the current directory can match and the subtree can be skipped.
+ * Compiled globs are immutable and cached per pattern string.
+ */
+public final class AntGlob {
+
+    private static final int MAX_CACHED = 256;
+
+    private static final ConcurrentMap<String, AntGlob> CACHE = new ConcurrentHashMap<>();
+
+    // one entry per path segment, null for **
+    private final Pattern[] segments;
+
+    private AntGlob(String base, String pattern, boolean namesAnywhere) {
+        String normalized = pattern.trim().replace('\\', '/');
+        boolean anyDepth = namesAnywhere && normalized.indexOf('/') < 0;
+        while (normalized.startsWith("./")) {
+            normalized = normalized.substring(2);
+        }
+        if (normalized.endsWith("/")) {
+            normalized = normalized + "**";
+        }
+
+        List<Pattern> compiled = new ArrayList<>();
+        for (String segment : base.replace('\\', '/').split("/")) {
+            if (!segment.isEmpty() && !".".equals(segment)) {
+                compiled.add(Pattern.compile(Pattern.quote(segment), flags()));
+            }
+        }
+        if (anyDepth) {
+            compiled.add(null);
+        }
+        for (String segment : normalized.split("/")) {
+            if (segment.isEmpty() || ".".equals(segment)) {
+                continue;
+            }
+            if ("**".equals(segment)) {
+                // a run of ** is the same as one
+                if (compiled.isEmpty() || null != compiled.get(compiled.size() - 1)) {
+                    compiled.add(null);
+                }
+            } else {
+                compiled.add(compileName(segment));
+            }
+        }
+        this.segments = compiled.toArray(new Pattern[compiled.size()]);
+    }
+
+    public static AntGlob compile(String pattern) {
+        return compile("", pattern, true);
+    }
+
+    /**
+     * @param base          directory, relative to the root of the walk, that the pattern is relative to
+     * @param namesAnywhere whether a pattern without {@code /} matches names at any depth below {@code base},
+     *                      rather than only directly in it as Ant does
+     */
+    public static AntGlob compile(String base, String pattern, boolean namesAnywhere) {
+        String key = base + '\n' + pattern + '\n' + namesAnywhere;
+        AntGlob glob = CACHE.get(key);
+        if (null == glob) {
+            if (CACHE.size() >= MAX_CACHED) {
+                CACHE.clear();
+            }
+            glob = new AntGlob(base, pattern, namesAnywhere);
+            AntGlob raced = CACHE.putIfAbsent(key, glob);
+            if (null != raced) {
+                glob = raced;
+            }
+        }
+        return glob;
+    }
+
+    /**
+     * @return the states before any name has been consumed, i.e. at the root of the walk
+     */
+    public BitSet start() {
+        BitSet states = new BitSet(segments.length + 1);
+        states.set(0);
+        return closure(states);
+    }
+
+    /**
+     * @return the states after descending from a directory in {@code states} into the entry called {@code name}
+     */
+    public BitSet advance(BitSet states, String name) {
+        BitSet next = new BitSet(segments.length + 1);
+        for (int i = states.nextSetBit(0); i >= 0 && i < segments.length; i = states.nextSetBit(i + 1)) {
+            if (null == segments[i]) {
+                next.set(i);
+            } else if (segments[i].matcher(name).matches()) {
+                next.set(i + 1);
+            }
+        }
+        return closure(next);
+    }
+
+    /**
+     * @return whether the entry the states were advanced to matches the pattern
+     */
+    public boolean accepts(BitSet states) {
+        return states.get(segments.length);
+    }
+
+    /**
+     * @return whether the entry the states were advanced to and every entry below it match the pattern, as
+     * everything below {@code dir} matches {@code dir/**}
+     */
+    public boolean acceptsAllBelow(BitSet states) {
+        int last = segments.length - 1;
+        return last >= 0 && null == segments[last] && states.get(last);
+    }
+
+    /**
+     * @return whether no entry below the one the states were advanced to can match the pattern
+     */
+    public boolean isExhausted(BitSet states) {
+        int first = states.nextSetBit(0);
+        return first < 0 || first >= segments.length;
+    }
+
+    /**
+     * Matches a path relative to the root of the walk, segments separated by {@code /}.
+     */
+    public boolean matches(String relativePath) {
+        BitSet states = start();
+        for (String name : relativePath.replace('\\', '/').split("/")) {
+            if (!name.isEmpty()) {
+                states = advance(states, name);
+            }
+        }
+        return accepts(states);
+    }
+
+    // ** may also match no directory at all
+    private BitSet closure(BitSet states) {
+        for (int i = states.nextSetBit(0); i >= 0 && i < segments.length; i = states.nextSetBit(i + 1)) {
+            if (null == segments[i]) {
+                states.set(i + 1);
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Turns a single name wildcard into a regular expression; {@code *} (or {@code **}) matches any run of
+     * characters and {@code ?} a single one. Case follows the file system of the node, as {@link IOCase#SYSTEM} does.
+     */
+    private static Pattern compileName(String wildcard) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        char previous = 0;
+        for (char c : wildcard.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                if (c == '?') {
+                    regex.append('.');
+                } else if (previous != '*') {
+                    regex.append(".*");
+                }
+            } else {
+                literal.append(c);
+            }
+            previous = c;
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), flags());
+    }
+
+    private static int flags() {
+        int flags = Pattern.DOTALL;
+        if (!IOCase.SYSTEM.isCaseSensitive()) {
+            flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        }
+        return flags;
+    }
+}
@@ -0,0 +1,92 @@
+package hygieia.utils;
+
+import hudson.remoting.VirtualChannel;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Computes the SHA-256 of artifact files on the node that holds them, so only the digests cross the remoting
+ * channel. Files are read in large chunks, several at a time on as many threads as the node has cores.
+ * <p>
+ * The node remembers the digest of every file it hashed in {@link FileFingerprints} of its own; a file whose size
+ * and modification time are unchanged since is not read again.
+ */
+public class ArtifactChecksumCallable extends MasterToSlaveFileCallable<Map<String, String>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int MAX_FINGERPRINTS = Integer.getInteger(ArtifactChecksumCallable.class.getName() + ".maxFingerprints", 4096);
+
+    // per node
+    private static final FileFingerprints FINGERPRINTS = new FileFingerprints(MAX_FINGERPRINTS);
+
+    private final List<String> files;
+
+    /**
+     * @param files remote paths of the files to hash; directories and missing files get no checksum
+     */
+    public ArtifactChecksumCallable(List<String> files) {
+        this.files = new ArrayList<>(files);
+    }
+
+    /**
+     * @return the hex encoded SHA-256 of every regular file, by remote path
+     */
+    @Override
+    public Map<String, String> invoke(File rootDirectory, VirtualChannel channel) throws IOException, InterruptedException {
+        Map<String, String> checksums = new LinkedHashMap<>();
+        if (files.isEmpty()) {
+            return checksums;
+        }
+        int threads = Math.max(1, Math.min(files.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new NamingThreadFactory(new DaemonThreadFactory(), "Hygieia artifact checksum"));
+        try {
+            List<Future<String>> digests = new ArrayList<>();
+            for (final String file : files) {
+                digests.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws IOException {
+                        return checksum(Paths.get(file));
+                    }
+                }));
+            }
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    String digest = digests.get(i).get();
+                    if (null != digest) {
+                        checksums.put(files.get(i), digest);
+                    }
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                    throw new IOException("Unable to compute the checksum of " + files.get(i), cause);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return checksums;
+    }
+
+    static String checksum(Path file) throws IOException {
+        return FINGERPRINTS.checksum(file);
+    }
+}
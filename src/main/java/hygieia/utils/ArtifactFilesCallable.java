@@ -0,0 +1,158 @@
+package hygieia.utils;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Walks a directory tree on the node that holds it and returns the remote paths of every file or directory
+ * matching an {@link AntGlob}, so that discovering artifacts takes one remoting call however big the
+ * workspace is. Directories below which the glob can no longer match are not entered. The same walk serves
+ * several globs at once for a {@link WorkspaceIndex}.
+ */
+public class ArtifactFilesCallable extends MasterToSlaveFileCallable<List<String>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger logger = Logger.getLogger(ArtifactFilesCallable.class.getName());
+
+    private final String pattern;
+
+    public ArtifactFilesCallable(String pattern) {
+        this.pattern = pattern;
+    }
+
+    @Override
+    public List<String> invoke(File rootDirectory, VirtualChannel channel) throws IOException, InterruptedException {
+        return walk(rootDirectory.toPath(), Collections.singletonList(AntGlob.compile(pattern))).get(0);
+    }
+
+    /**
+     * Walks the tree below {@code root} once for any number of globs.
+     *
+     * @return the matches of every glob, in the order of the globs
+     */
+    public static List<List<String>> walk(Path root, List<AntGlob> globs) throws IOException {
+        return walk(root, globs, Collections.<AntGlob>emptyList());
+    }
+
+    /**
+     * Walks the tree below {@code root} once for any number of globs, leaving out whatever matches one of
+     * {@code excludes}. A directory whose whole subtree is excluded, like {@code .git} by {@code **}{@code /.git/**},
+     * is not entered.
+     *
+     * @return the matches of every glob, in the order of the globs
+     */
+    public static List<List<String>> walk(final Path root, final List<AntGlob> globs, final List<AntGlob> excludes) throws IOException {
+        final List<List<String>> matches = new ArrayList<>();
+        for (int i = 0; i < globs.size(); i++) {
+            matches.add(new ArrayList<String>());
+        }
+        if (!Files.isDirectory(root)) {
+            return matches;
+        }
+        final List<AntGlob> all = new ArrayList<>(globs);
+        all.addAll(excludes);
+        // glob states of the directories being walked, innermost first, includes before excludes; null once a
+        // glob is exhausted
+        final Deque<BitSet[]> states = new ArrayDeque<>();
+        Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                BitSet[] current;
+                if (dir.equals(root)) {
+                    current = new BitSet[all.size()];
+                    for (int i = 0; i < all.size(); i++) {
+                        current[i] = all.get(i).start();
+                    }
+                } else {
+                    current = visit(dir);
+                    if (null == current || allExhausted(current)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                }
+                states.push(current);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) {
+                states.pop();
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                visit(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                if (!(e instanceof FileSystemLoopException)) {
+                    logger.log(Level.FINE, "Unable to visit " + file, e);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            // null if nothing at or below the path can be matched
+            private BitSet[] visit(Path path) {
+                String name = path.getFileName().toString();
+                BitSet[] parent = states.peek();
+                BitSet[] current = new BitSet[parent.length];
+                boolean excluded = false;
+                for (int i = globs.size(); i < parent.length; i++) {
+                    if (null != parent[i]) {
+                        AntGlob exclude = all.get(i);
+                        BitSet next = exclude.advance(parent[i], name);
+                        if (exclude.acceptsAllBelow(next)) {
+                            return null;
+                        }
+                        excluded |= exclude.accepts(next);
+                        current[i] = exclude.isExhausted(next) ? null : next;
+                    }
+                }
+                for (int i = 0; i < globs.size(); i++) {
+                    if (null != parent[i]) {
+                        AntGlob glob = all.get(i);
+                        BitSet next = glob.advance(parent[i], name);
+                        if (!excluded && glob.accepts(next)) {
+                            matches.get(i).add(path.toString());
+                        }
+                        current[i] = glob.isExhausted(next) ? null : next;
+                    }
+                }
+                return current;
+            }
+
+            // excludes alone never make a subtree worth walking
+            private boolean allExhausted(BitSet[] current) {
+                for (int i = 0; i < globs.size(); i++) {
+                    if (null != current[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        });
+        return matches;
+    }
+}
@@ -0,0 +1,116 @@
+package hygieia.utils;
+
+import hudson.Util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The SHA-256 of files a node has hashed, remembered along with their size and modification time so that a file
+ * whose size and modification time are unchanged since is not read again. Bounded, least recently used entries
+ * go first. Each kind of file keeps its own instance so that one cannot push the entries of another out.
+ */
+public final class FileFingerprints {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final int maxFingerprints;
+
+    // least recently used first
+    private final Map<String, Fingerprint> fingerprints = new LinkedHashMap<String, Fingerprint>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Fingerprint> eldest) {
+            return size() > maxFingerprints;
+        }
+    };
+
+    public FileFingerprints(int maxFingerprints) {
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    /**
+     * @return the hex encoded SHA-256 of {@code file}, read only if it changed since it was last hashed;
+     * {@code null} if it is not a regular file
+     */
+    public String checksum(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        BasicFileAttributes before = Files.readAttributes(file, BasicFileAttributes.class);
+        String digest = known(file, before);
+        if (null == digest) {
+            digest = sha256(file);
+            remember(file, before, digest);
+        }
+        return digest;
+    }
+
+    /**
+     * @return the SHA-256 recorded for {@code file} if its size and modification time are still {@code attributes},
+     * {@code null} otherwise; the file is not read
+     */
+    public String known(Path file, BasicFileAttributes attributes) {
+        synchronized (fingerprints) {
+            Fingerprint fingerprint = fingerprints.get(file.toAbsolutePath().toString());
+            return null != fingerprint && fingerprint.matches(attributes) ? fingerprint.digest : null;
+        }
+    }
+
+    /**
+     * Records the SHA-256 of {@code file} as read since it had {@code before} as its attributes.
+     */
+    public void remember(Path file, BasicFileAttributes before, String digest) throws IOException {
+        // a file written to while it was read is hashed again next time
+        BasicFileAttributes after = Files.readAttributes(file, BasicFileAttributes.class);
+        Fingerprint fingerprint = new Fingerprint(before, digest);
+        if (fingerprint.matches(after)) {
+            synchronized (fingerprints) {
+                fingerprints.put(file.toAbsolutePath().toString(), fingerprint);
+            }
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return Util.toHexString(digest.digest());
+    }
+
+    private static final class Fingerprint {
+
+        private final long size;
+        private final long lastModified;
+        private final String digest;
+
+        Fingerprint(BasicFileAttributes attributes, String digest) {
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime().toMillis();
+            this.digest = digest;
+        }
+
+        boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModified == attributes.lastModifiedTime().toMillis();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package hygieia.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import hudson.plugins.git.util.Build;
+import hudson.plugins.git.util.BuildData;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Finds the branch a build was made from in the git {@link BuildData} of a job. {@link BuildData#getBuildsByBranchName()}
+ * holds every branch ever built by the job, so it is turned into an index from build number to branch once per
+ * {@code BuildData} instance and looked up in constant time after that.
+ * <p>
+ * A {@code BuildData} still being added to by a checkout can make the index stale: a hit is checked against the
+ * map itself, and a miss rebuilds the index only if a build was saved since it was built, that is if the number of
+ * branches or the last build changed. Looking up builds that are not there, like those of other SCMs, costs no scan.
+ */
+final class GitBranchIndex {
+
+    // identity keys, dropped along with the BuildData
+    private static final Cache<BuildData, GitBranchIndex> INDEXES = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final Map<Integer, String> branchByBuildNumber = new HashMap<>();
+    // what the BuildData looked like when it was indexed
+    private final int branchCount;
+    private final Build lastBuild;
+
+    private GitBranchIndex(Map<String, Build> branches, Build lastBuild) {
+        this.branchCount = branches.size();
+        this.lastBuild = lastBuild;
+        // like a scan of the map, the last branch built by a build number wins
+        for (Map.Entry<String, Build> branch : branches.entrySet()) {
+            if (null != branch.getValue()) {
+                branchByBuildNumber.put(branch.getValue().hudsonBuildNumber, branch.getKey());
+            }
+        }
+    }
+
+    /**
+     * @return the branch {@code buildNumber} was built from, or an empty string if it is not known
+     */
+    static String getBranch(BuildData buildData, int buildNumber) {
+        Map<String, Build> branches = buildData.getBuildsByBranchName();
+        GitBranchIndex index = INDEXES.getIfPresent(buildData);
+        if (null != index) {
+            String branch = index.branchByBuildNumber.get(buildNumber);
+            if (null != branch && isBuiltBy(branches.get(branch), buildNumber)) {
+                return branch;
+            }
+            if (index.branchCount == branches.size() && index.lastBuild == buildData.lastBuild) {
+                return "";
+            }
+        }
+        index = new GitBranchIndex(branches, buildData.lastBuild);
+        INDEXES.put(buildData, index);
+        String branch = index.branchByBuildNumber.get(buildNumber);
+        return null == branch ? "" : branch;
+    }
+
+    private static boolean isBuiltBy(Build build, int buildNumber) {
+        return null != build && build.hudsonBuildNumber == buildNumber;
+    }
+}
@@ -7,6 +7,8 @@ import com.capitalone.dashboard.model.RepoBranch;
 import com.capitalone.dashboard.model.adapter.BuildStageAdapter;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import hudson.EnvVars;
@@ -18,14 +20,12 @@ import hudson.model.Result;
 import hudson.model.Run;
 import hudson.model.TaskListener;
 import hudson.plugins.git.GitSCM;
-import hudson.plugins.git.util.Build;
+import hudson.plugins.git.util.BuildData;
 import hudson.scm.SubversionSCM;
 import hudson.util.IOUtils;
 import jenkins.model.Jenkins;
 import jenkins.plugins.hygieia.CustomObjectMapper;
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOCase;
-import org.apache.commons.io.filefilter.WildcardFileFilter;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
@@ -37,10 +37,10 @@ import org.springframework.util.CollectionUtils;
 
 import javax.annotation.Nonnull;
 import java.io.BufferedReader;
-import java.io.FileFilter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -65,6 +65,17 @@ public class HygieiaUtils {
     public static final String HREF="href";
     public static final GsonBuilder buildStageGsonBuilder = new GsonBuilder().registerTypeAdapter(BuildStage.class, new BuildStageAdapter());
 
+    private static final int MAX_CACHED_UPSTREAM_USERS = Integer.getInteger(HygieiaUtils.class.getName() + ".maxCachedUpstreamUsers", 1024);
+    // user id by upstream "job#build number", least recently used first
+    private static final Map<String, String> UPSTREAM_USER_IDS = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_CACHED_UPSTREAM_USERS;
+        }
+    };
+    // user id by run, resolved once and dropped along with the run; nothing is stored on the runs themselves
+    private static final Cache<Run<?, ?>, String> STARTED_BY = CacheBuilder.newBuilder().weakKeys().build();
+
     public static byte[] convertObjectToJsonBytes(Object object) throws IOException {
         ObjectMapper mapper = new CustomObjectMapper();
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
@@ -76,22 +87,29 @@ public class HygieiaUtils {
         return mapper.readValue(json, thisClass);
     }
 
+    /**
+     * Finds every file or directory under {@code rootDirectory} whose name matches {@code pattern}. The tree is
+     * walked by an {@link ArtifactFilesCallable} on the node that holds it, in a single remoting call.
+     */
     public static List<FilePath> getArtifactFiles(FilePath rootDirectory, String pattern, List<FilePath> results) throws IOException, InterruptedException {
-        FileFilter filter = new WildcardFileFilter(pattern.replace("**", "*"), IOCase.SYSTEM);
-        List<FilePath> temp = rootDirectory.list(filter);
-        if (!CollectionUtils.isEmpty(temp)) {
-            results.addAll(temp);
+        for (String remote : rootDirectory.act(new ArtifactFilesCallable(pattern))) {
+            results.add(new FilePath(rootDirectory.getChannel(), remote));
         }
+        return results;
+    }
 
-        temp = rootDirectory.list();
-        if (!CollectionUtils.isEmpty(temp)) {
-            for (FilePath currentItem : rootDirectory.list()) {
-                if (currentItem.isDirectory()) {
-                    getArtifactFiles(currentItem, pattern, results);
-                }
-            }
+    /**
+     * Computes the SHA-256 of every regular file in {@code files}, which all live on the node of
+     * {@code rootDirectory}, with an {@link ArtifactChecksumCallable} in a single remoting call.
+     *
+     * @return hex encoded digests by remote path
+     */
+    public static Map<String, String> getArtifactChecksums(FilePath rootDirectory, List<FilePath> files) throws IOException, InterruptedException {
+        List<String> remotes = new ArrayList<>();
+        for (FilePath file : files) {
+            remotes.add(file.getRemote());
         }
-        return results;
+        return rootDirectory.act(new ArtifactChecksumCallable(remotes));
     }
 
     /**
@@ -316,19 +334,14 @@ public class HygieiaUtils {
 
     private static List<RepoBranch> getGitHubRepoBranch(GitSCM scm, Run r) {
         List<RepoBranch> list = new ArrayList<>();
-        if (!org.apache.commons.collections.CollectionUtils.isEmpty(Objects.requireNonNull(scm.getBuildData(r)).remoteUrls)) {
-            for (String url : Objects.requireNonNull(scm.getBuildData(r)).remoteUrls) {
+        BuildData buildData = Objects.requireNonNull(scm.getBuildData(r));
+        if (!org.apache.commons.collections.CollectionUtils.isEmpty(buildData.remoteUrls)) {
+            // the branch is that of the build, whatever the remote
+            String branch = GitBranchIndex.getBranch(buildData, r.getNumber());
+            for (String url : buildData.remoteUrls) {
                 if (url.endsWith(".git")) {
                     url = url.substring(0, url.lastIndexOf(".git"));
                 }
-                Map<String, Build> branches = Objects.requireNonNull(scm.getBuildData(r)).getBuildsByBranchName();
-                String branch = "";
-                for (String key : branches.keySet()) {
-                    hudson.plugins.git.util.Build b = branches.get(key);
-                    if (b.hudsonBuildNumber == r.getNumber()) {
-                        branch = key;
-                    }
-                }
                 list.add(new RepoBranch(url, branch, RepoBranch.RepoType.GIT));
             }
         }
@@ -402,12 +415,15 @@ public class HygieiaUtils {
     }
 
     public static Set<String> getMatchedLinesFromLog(Run run, String pattern) throws IOException {
+        return getMatchedLinesFromLog(run, Pattern.compile(pattern));
+    }
+
+    public static Set<String> getMatchedLinesFromLog(Run run, Pattern p) throws IOException {
         BufferedReader br = null;
         Set<String> matchLines = new HashSet<>();
         try {
             br = new BufferedReader(run.getLogReader());
             String strLine;
-            Pattern p = Pattern.compile(pattern);
             while ((strLine = br.readLine()) != null) {
                 Matcher match = p.matcher(strLine);
                 if (match.matches()) {
@@ -431,16 +447,12 @@ public class HygieiaUtils {
         return parts[1];
     }
 
+    /**
+     * Compiles {@code patterns} on every call; listeners use the {@link JobExclusionMatcher} the global
+     * configuration keeps instead.
+     */
     public static boolean isJobExcluded (String jobName, String patterns) {
-        if(StringUtils.isNotBlank(patterns)){
-            String[] patternsList = patterns.split(SEPERATOR);
-            for (String pattern : patternsList) {
-                if (StringUtils.startsWithIgnoreCase(jobName, pattern)) {
-                    return Boolean.TRUE;
-                }
-            }
-        }
-        return Boolean.FALSE;
+        return JobExclusionMatcher.compile(patterns).isExcluded(jobName, jobName);
     }
 
     public static LinkedList<BuildStage> getBuildStages(String responseJSON) throws HygieiaException{
@@ -505,18 +517,14 @@ public class HygieiaUtils {
         return stage;
     }
 
+    /**
+     * @return the user who started {@code run} or, for a run triggered by another, the user who started that
+     * one; {@code anonymous} if there is none. Resolved once per run.
+     */
     public static String getUserID(@Nonnull Run run, TaskListener listener) {
-        // If build has been triggered form an upstream build, get UserCause from there to set user build variables
-        Cause.UpstreamCause upstreamCause = (Cause.UpstreamCause) run.getCause(Cause.UpstreamCause.class);
-
-        if (upstreamCause != null) {
-            Job job = Jenkins.getInstance().getItemByFullName(upstreamCause.getUpstreamProject(), Job.class);
-            if (job != null) {
-                Run upstream = job.getBuildByNumber(upstreamCause.getUpstreamBuild());
-                if (upstream != null) {
-                    getUserID(upstream, listener);
-                }
-            }
+        String startedBy = STARTED_BY.getIfPresent(run);
+        if (startedBy != null) {
+            return startedBy;
         }
 
         Cause.UserIdCause userIdCause = (Cause.UserIdCause) run.getCause(Cause.UserIdCause.class);
@@ -524,8 +532,38 @@ public class HygieiaUtils {
         if (userIdCause != null) {
             userId = StringUtils.trimToEmpty(userIdCause.getUserId());
         }
-        return StringUtils.isEmpty(userId) ? "anonymous" : userId;
+        // If build has been triggered form an upstream build, get UserCause from there to set user build variables
+        Cause.UpstreamCause upstreamCause = (Cause.UpstreamCause) run.getCause(Cause.UpstreamCause.class);
+        if (StringUtils.isEmpty(userId) && upstreamCause != null) {
+            userId = getUpstreamUserID(upstreamCause, listener);
+        }
+        userId = StringUtils.isEmpty(userId) ? "anonymous" : userId;
+        STARTED_BY.put(run, userId);
+        return userId;
+    }
+
+    // looks in UPSTREAM_USER_IDS before loading the upstream build, which may have to be read from disk
+    private static String getUpstreamUserID(Cause.UpstreamCause upstreamCause, TaskListener listener) {
+        String key = upstreamCause.getUpstreamProject() + '#' + upstreamCause.getUpstreamBuild();
+        synchronized (UPSTREAM_USER_IDS) {
+            String userId = UPSTREAM_USER_IDS.get(key);
+            if (userId != null) {
+                return userId;
+            }
+        }
+        Job job = Jenkins.getInstance().getItemByFullName(upstreamCause.getUpstreamProject(), Job.class);
+        if (job == null) {
+            return "";
+        }
+        Run upstream = job.getBuildByNumber(upstreamCause.getUpstreamBuild());
+        if (upstream == null) {
+            return "";
+        }
+        String userId = getUserID(upstream, listener);
+        synchronized (UPSTREAM_USER_IDS) {
+            UPSTREAM_USER_IDS.put(key, userId);
+        }
+        return userId;
     }
 
-
 }
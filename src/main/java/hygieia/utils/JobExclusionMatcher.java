@@ -0,0 +1,146 @@
+package hygieia.utils;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The jobs excluded from global publishing, compiled from the comma separated list of the global configuration.
+ * Each entry is one of
+ * <ul>
+ * <li>a plain prefix of the job name, ignoring case, as entries have always been read;</li>
+ * <li>a glob over the full name of the job, folders included, when it holds {@code *} or {@code ?}:
+ * {@code *} and {@code ?} stay within one folder level, {@code **} crosses levels;</li>
+ * <li>a regular expression over the full name of the job when prefixed with {@code regex:}.</li>
+ * </ul>
+ * All prefixes share one trie and all globs and expressions one alternation, so checking a job reads its
+ * name once and its full name once however many entries there are.
+ */
+public final class JobExclusionMatcher {
+
+    private static final Logger logger = Logger.getLogger(JobExclusionMatcher.class.getName());
+
+    static final String REGEX_PREFIX = "regex:";
+
+    private static final JobExclusionMatcher NONE = new JobExclusionMatcher(new Node(), null);
+
+    private final Node prefixes;
+    private final Pattern fullNames;
+
+    private JobExclusionMatcher(Node prefixes, Pattern fullNames) {
+        this.prefixes = prefixes;
+        this.fullNames = fullNames;
+    }
+
+    public static JobExclusionMatcher compile(String patterns) {
+        if (StringUtils.isBlank(patterns)) {
+            return NONE;
+        }
+        Node prefixes = new Node();
+        List<String> alternatives = new ArrayList<>();
+        for (String pattern : patterns.split(HygieiaUtils.SEPERATOR)) {
+            pattern = pattern.trim();
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            if (StringUtils.startsWithIgnoreCase(pattern, REGEX_PREFIX)) {
+                String regex = pattern.substring(REGEX_PREFIX.length());
+                try {
+                    Pattern.compile(regex);
+                    alternatives.add(regex);
+                } catch (PatternSyntaxException e) {
+                    logger.log(Level.WARNING, "Ignoring invalid job exclusion " + pattern, e);
+                }
+            } else if (pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0) {
+                alternatives.add(globToRegex(pattern));
+            } else {
+                prefixes.add(pattern);
+            }
+        }
+        Pattern fullNames = null;
+        if (!alternatives.isEmpty()) {
+            StringBuilder regex = new StringBuilder();
+            for (String alternative : alternatives) {
+                regex.append(regex.length() == 0 ? "" : "|").append("(?:").append(alternative).append(')');
+            }
+            fullNames = Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        }
+        return new JobExclusionMatcher(prefixes, fullNames);
+    }
+
+    /**
+     * @param name     the name of the job, matched against the prefixes
+     * @param fullName the name of the job with its folders, matched against the globs and expressions
+     */
+    public boolean isExcluded(String name, String fullName) {
+        return (null != name && prefixes.matchesPrefixOf(name))
+                || (null != fullNames && null != fullName && fullNames.matcher(fullName).matches());
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c != '*' && c != '?') {
+                literal.append(c);
+                continue;
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+                literal.setLength(0);
+            }
+            if (c == '?') {
+                regex.append("[^/]");
+            } else if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else {
+                regex.append("[^/]*");
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return regex.toString();
+    }
+
+    // a trie of the lower cased prefixes
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private boolean terminal;
+
+        void add(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                char c = Character.toLowerCase(prefix.charAt(i));
+                Node child = node.children.get(c);
+                if (null == child) {
+                    child = new Node();
+                    node.children.put(c, child);
+                }
+                node = child;
+            }
+            node.terminal = true;
+        }
+
+        boolean matchesPrefixOf(String name) {
+            Node node = this;
+            for (int i = 0; i < name.length() && !node.terminal; i++) {
+                node = node.children.get(Character.toLowerCase(name.charAt(i)));
+                if (null == node) {
+                    return false;
+                }
+            }
+            return node.terminal;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package hygieia.utils;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The hosts Jenkins is configured to reach without its proxy, compiled once from the "No Proxy Host" list of the
+ * proxy configuration. Entries are separated as Jenkins separates them and each is one of
+ * <ul>
+ * <li>a host name or address, reached directly;</li>
+ * <li>a domain as {@code *.example.com} or {@code .example.com}, whose hosts are reached directly;</li>
+ * <li>any other pattern with {@code *} wildcards, as Jenkins matches it.</li>
+ * </ul>
+ * Any entry may end with {@code :port} to only bypass the proxy on that port.
+ * <p>
+ * Hosts and domains are looked up in hash sets, one lookup per label of the target host, and the remaining patterns
+ * share one alternation. Decisions are cached by host and port, least recently used first out beyond
+ * {@code hygieia.utils.NoProxyHostMatcher.maxCachedHosts}.
+ */
+public final class NoProxyHostMatcher {
+
+    private static final int MAX_CACHED_HOSTS = Integer.getInteger(NoProxyHostMatcher.class.getName() + ".maxCachedHosts", 256);
+
+    // what hudson.ProxyConfiguration splits the list on
+    private static final Pattern SEPARATOR = Pattern.compile("[ \t\n,|]+");
+    private static final Pattern PORT = Pattern.compile("(.*):(\\d+)");
+    private static final int ANY_PORT = -1;
+
+    private final String noProxyHost;
+    // host or domain (with its leading dot) to the ports it is bypassed on
+    private final Map<String, Set<Integer>> hosts = new HashMap<>();
+    private final Map<String, Set<Integer>> domains = new HashMap<>();
+    private final Pattern hostPatterns;
+    private final Pattern hostAndPortPatterns;
+    private final Map<String, Boolean> decisions = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_CACHED_HOSTS;
+        }
+    };
+
+    private NoProxyHostMatcher(String noProxyHost) {
+        this.noProxyHost = noProxyHost;
+        List<String> anyPort = new ArrayList<>();
+        List<String> onPort = new ArrayList<>();
+        if (StringUtils.isNotBlank(noProxyHost)) {
+            for (String entry : SEPARATOR.split(noProxyHost.trim().toLowerCase(Locale.ENGLISH))) {
+                if (entry.isEmpty()) {
+                    continue;
+                }
+                int port = ANY_PORT;
+                Matcher withPort = PORT.matcher(entry);
+                if (withPort.matches()) {
+                    entry = withPort.group(1);
+                    port = Integer.parseInt(withPort.group(2));
+                }
+                if (entry.startsWith("*.") && entry.indexOf('*', 1) < 0) {
+                    add(domains, entry.substring(1), port);
+                } else if (entry.startsWith(".") && entry.indexOf('*') < 0) {
+                    add(domains, entry, port);
+                } else if (entry.indexOf('*') < 0) {
+                    add(hosts, entry, port);
+                } else {
+                    String regex = wildcardToRegex(entry);
+                    if (port == ANY_PORT) {
+                        anyPort.add(regex);
+                    } else {
+                        onPort.add(regex + ':' + port);
+                    }
+                }
+            }
+        }
+        this.hostPatterns = alternation(anyPort);
+        this.hostAndPortPatterns = alternation(onPort);
+    }
+
+    public static NoProxyHostMatcher compile(String noProxyHost) {
+        return new NoProxyHostMatcher(noProxyHost);
+    }
+
+    /**
+     * @return the list this was compiled from, to tell whether the proxy configuration has changed since
+     */
+    public String getNoProxyHost() {
+        return noProxyHost;
+    }
+
+    /**
+     * @param port the port of the target, or {@code -1} if not known
+     * @return whether {@code host} is to be reached without the proxy
+     */
+    public boolean isDirect(String host, int port) {
+        if (StringUtils.isEmpty(host)) {
+            return false;
+        }
+        String key = host + ':' + port;
+        synchronized (decisions) {
+            Boolean direct = decisions.get(key);
+            if (null != direct) {
+                return direct;
+            }
+        }
+        boolean direct = matches(host.toLowerCase(Locale.ENGLISH), port);
+        synchronized (decisions) {
+            decisions.put(key, direct);
+        }
+        return direct;
+    }
+
+    private boolean matches(String host, int port) {
+        if (bypasses(hosts.get(host), port)) {
+            return true;
+        }
+        for (int dot = host.indexOf('.'); dot >= 0; dot = host.indexOf('.', dot + 1)) {
+            if (bypasses(domains.get(host.substring(dot)), port)) {
+                return true;
+            }
+        }
+        return (null != hostPatterns && hostPatterns.matcher(host).matches())
+                || (null != hostAndPortPatterns && hostAndPortPatterns.matcher(host + ':' + port).matches());
+    }
+
+    private static boolean bypasses(Set<Integer> ports, int port) {
+        return null != ports && (ports.contains(ANY_PORT) || ports.contains(port));
+    }
+
+    private static void add(Map<String, Set<Integer>> index, String host, int port) {
+        Set<Integer> ports = index.get(host);
+        if (null == ports) {
+            ports = new HashSet<>();
+            index.put(host, ports);
+        }
+        ports.add(port);
+    }
+
+    private static String wildcardToRegex(String wildcard) {
+        String[] literals = wildcard.split("\\*", -1);
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < literals.length; i++) {
+            regex.append(i == 0 ? "" : ".*").append(literals[i].isEmpty() ? "" : Pattern.quote(literals[i]));
+        }
+        return regex.toString();
+    }
+
+    private static Pattern alternation(List<String> regexes) {
+        if (regexes.isEmpty()) {
+            return null;
+        }
+        StringBuilder regex = new StringBuilder();
+        for (String alternative : regexes) {
+            regex.append(regex.length() == 0 ? "" : "|").append("(?:").append(alternative).append(')');
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,139 @@
+package hygieia.utils;
+
+import hudson.FilePath;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the file patterns of every publisher of a run and finds all their matches with a single walk of
+ * the workspace on the node that holds it, so the workspace is read once however many publishers are enabled.
+ * <p>
+ * Publishers {@link #register} their directory and pattern under a consumer name first; the walk happens on
+ * the first {@link #getFiles} call. A directory outside the workspace gets a walk of its own.
+ */
+public class WorkspaceIndex {
+
+    private final FilePath workspace;
+    private final List<Query> queries = new ArrayList<>();
+    private Map<String, List<String>> matches;
+
+    public WorkspaceIndex(FilePath workspace) {
+        this.workspace = workspace;
+    }
+
+    /**
+     * @param pattern an {@link AntGlob} pattern relative to {@code directory}
+     */
+    public synchronized WorkspaceIndex register(String consumer, FilePath directory, String pattern) {
+        if (null != matches) {
+            throw new IllegalStateException("The workspace has already been scanned, " + consumer + " registered too late");
+        }
+        queries.add(new Query(consumer, directory.getRemote(), pattern));
+        return this;
+    }
+
+    public synchronized boolean isRegistered(String consumer) {
+        for (Query query : queries) {
+            if (query.consumer.equals(consumer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the files and directories matching what {@code consumer} registered, scanning the workspace if
+     * that has not been done yet
+     */
+    public synchronized List<FilePath> getFiles(String consumer) throws IOException, InterruptedException {
+        if (null == matches) {
+            matches = queries.isEmpty() ? new LinkedHashMap<String, List<String>>() : workspace.act(new ScanCallable(queries));
+        }
+        List<FilePath> files = new ArrayList<>();
+        List<String> remotes = matches.get(consumer);
+        if (null != remotes) {
+            for (String remote : remotes) {
+                files.add(new FilePath(workspace.getChannel(), remote));
+            }
+        }
+        return files;
+    }
+
+    private static final class Query implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String consumer;
+        private final String directory;
+        private final String pattern;
+
+        Query(String consumer, String directory, String pattern) {
+            this.consumer = consumer;
+            this.directory = directory;
+            this.pattern = pattern;
+        }
+    }
+
+    private static final class ScanCallable extends MasterToSlaveFileCallable<Map<String, List<String>>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Query> queries;
+
+        ScanCallable(List<Query> queries) {
+            this.queries = new ArrayList<>(queries);
+        }
+
+        @Override
+        public Map<String, List<String>> invoke(File rootDirectory, VirtualChannel channel) throws IOException, InterruptedException {
+            Path workspace = rootDirectory.toPath().toAbsolutePath().normalize();
+
+            // every query becomes a glob below the directory that is walked for it
+            Map<Path, List<Integer>> queriesByRoot = new LinkedHashMap<>();
+            List<AntGlob> globs = new ArrayList<>();
+            for (int i = 0; i < queries.size(); i++) {
+                Query query = queries.get(i);
+                Path directory = Paths.get(query.directory).toAbsolutePath().normalize();
+                Path root = directory.startsWith(workspace) ? workspace : directory;
+                globs.add(AntGlob.compile(root.relativize(directory).toString(), query.pattern, true));
+                if (!queriesByRoot.containsKey(root)) {
+                    queriesByRoot.put(root, new ArrayList<Integer>());
+                }
+                queriesByRoot.get(root).add(i);
+            }
+
+            Map<String, Set<String>> matches = new LinkedHashMap<>();
+            for (Query query : queries) {
+                matches.put(query.consumer, new LinkedHashSet<String>());
+            }
+            for (Map.Entry<Path, List<Integer>> walk : queriesByRoot.entrySet()) {
+                List<AntGlob> walkGlobs = new ArrayList<>();
+                for (int i : walk.getValue()) {
+                    walkGlobs.add(globs.get(i));
+                }
+                List<List<String>> found = ArtifactFilesCallable.walk(walk.getKey(), walkGlobs);
+                for (int i = 0; i < found.size(); i++) {
+                    matches.get(queries.get(walk.getValue().get(i)).consumer).addAll(found.get(i));
+                }
+            }
+
+            Map<String, List<String>> result = new LinkedHashMap<>();
+            for (Map.Entry<String, Set<String>> consumer : matches.entrySet()) {
+                result.put(consumer.getKey(), new ArrayList<>(consumer.getValue()));
+            }
+            return result;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.capitalone.dashboard.model.BuildStatus;
 import com.capitalone.dashboard.model.quality.CucumberJsonReport;
 import com.capitalone.dashboard.model.quality.MochaJsSpecReport;
 import com.capitalone.dashboard.request.BinaryArtifactCreateRequest;
+import com.capitalone.dashboard.request.BuildDataCreateRequest;
 import com.capitalone.dashboard.request.CodeQualityCreateRequest;
 import com.capitalone.dashboard.request.DeployDataCreateRequest;
 import com.capitalone.dashboard.request.TestDataCreateRequest;
@@ -17,6 +18,7 @@ import hygieia.builder.DeployBuilder;
 import hygieia.builder.FunctionalTestBuilder;
 import hygieia.builder.SonarBuilder;
 import hygieia.utils.HygieiaUtils;
+import hygieia.utils.WorkspaceIndex;
 import org.apache.commons.httpclient.HttpStatus;
 import org.json.simple.parser.ParseException;
 
@@ -79,12 +81,13 @@ public class ActiveJobNotifier implements FineGrainedNotifier {
 
         if (publishBuild) {
             String startedBy = HygieiaUtils.getUserID(r, listener);
-            HygieiaResponse buildResponse = getHygieiaService(r)
-                    .publishBuildData(new BuildBuilder()
-                            .createBuildRequestFromRun(r, publisher.getDescriptor().getHygieiaJenkinsName(),
-                                    listener, BuildStatus.fromString(String.valueOf(r.getResult())),
-                                    true, new LinkedList<BuildStage>(), startedBy));
+            BuildDataCreateRequest buildRequest = new BuildBuilder()
+                    .createBuildRequestFromRun(r, publisher.getDescriptor().getHygieiaJenkinsName(),
+                            listener, BuildStatus.fromString(String.valueOf(r.getResult())),
+                            true, new LinkedList<BuildStage>(), startedBy, publisher.getDescriptor().getHygieiaAPIUrl());
+            HygieiaResponse buildResponse = getHygieiaService(r).publishBuildData(buildRequest);
             if (buildResponse.getResponseCode() == HttpStatus.SC_CREATED) {
+                PublishedChangeSets.recordPublished(r, publisher.getDescriptor().getHygieiaAPIUrl(), buildRequest.getSourceChangeSet());
                 listener.getLogger().println("Hygieia: Published Build Complete Data. " + buildResponse.toString());
             } else {
                 listener.getLogger().println("Hygieia: Failed Publishing Build Complete Data. " + buildResponse.toString());
@@ -93,9 +96,37 @@ public class ActiveJobNotifier implements FineGrainedNotifier {
             boolean successBuild = ("success".equalsIgnoreCase(r.getResult().toString()) ||
                     "unstable".equalsIgnoreCase(r.getResult().toString()));
             boolean publishArt = (publisher.getHygieiaArtifact() != null) && successBuild;
+            boolean publishTest = (publisher.getHygieiaTest() != null) && (successBuild || publisher.getHygieiaTest().isPublishEvenBuildFails());
+            boolean publishDeploy = (publisher.getHygieiaDeploy() != null) && successBuild;
+
+            // every publisher that looks for files in the workspace shares a single walk of it
+            WorkspaceIndex workspaceIndex = null == r.getWorkspace() ? null : new WorkspaceIndex(r.getWorkspace());
+            ArtifactBuilder artifactBuilder = null;
+            FunctionalTestBuilder functionalTestBuilder = null;
+            DeployBuilder deployBuilder = null;
+            if (publishArt) {
+                artifactBuilder = new ArtifactBuilder(r, publisher, listener, buildResponse.getResponseValue());
+                if (null != workspaceIndex) {
+                    artifactBuilder.withWorkspaceIndex(workspaceIndex);
+                }
+            }
+            if (publishTest) {
+                ObjectMapper objectMapper = new ObjectMapper();
+                objectMapper.registerSubtypes(CucumberJsonReport.class, MochaJsSpecReport.class);
+                functionalTestBuilder = new FunctionalTestBuilder(objectMapper);
+                if (null != workspaceIndex) {
+                    functionalTestBuilder.withWorkspaceIndex(workspaceIndex, r, listener, r.getWorkspace(),
+                            publisher.getHygieiaTest().getTestResultsDirectory(), publisher.getHygieiaTest().getTestFileNamePattern());
+                }
+            }
+            if (publishDeploy) {
+                deployBuilder = new DeployBuilder(r, publisher, listener, buildResponse.getResponseValue());
+                if (null != workspaceIndex) {
+                    deployBuilder.withWorkspaceIndex(workspaceIndex);
+                }
+            }
 
             if (publishArt) {
-                ArtifactBuilder artifactBuilder = new ArtifactBuilder(r, publisher, listener, buildResponse.getResponseValue());
                 Set<BinaryArtifactCreateRequest> requests = artifactBuilder.getArtifacts();
                 for (BinaryArtifactCreateRequest bac : requests) {
                     HygieiaResponse artifactResponse = getHygieiaService(r).publishArtifactData(bac);
@@ -110,16 +141,12 @@ public class ActiveJobNotifier implements FineGrainedNotifier {
                 }
             }
 
-            boolean publishTest = (publisher.getHygieiaTest() != null) && (successBuild || publisher.getHygieiaTest().isPublishEvenBuildFails());
-
             if (publishTest) {
-                ObjectMapper objectMapper = new ObjectMapper();
-                objectMapper.registerSubtypes(CucumberJsonReport.class, MochaJsSpecReport.class);
 //                FunctionalTestBuilder(Run run, TaskListener listener, BuildStatus buildStatus, FilePath filePath, String applicationName, String environmentName, String testType, String filePattern, String directory, String jenkinsName, String buildId)
                 BuildStatus buildStatus = BuildStatus.fromString(r.getResult().toString());
-                TestDataCreateRequest request = new FunctionalTestBuilder(objectMapper).getTestDataCreateRequest(r, listener, buildStatus, r.getWorkspace(), publisher.getHygieiaTest().getTestApplicationName(),
+                TestDataCreateRequest request = functionalTestBuilder.getTestDataCreateRequest(r, listener, buildStatus, r.getWorkspace(), publisher.getHygieiaTest().getTestApplicationName(),
                         publisher.getHygieiaTest().getTestEnvironmentName(), publisher.getHygieiaTest().getTestType(), publisher.getHygieiaTest().getTestFileNamePattern(), publisher.getHygieiaTest().getTestResultsDirectory(),
-                        publisher.getDescriptor().getHygieiaJenkinsName(), HygieiaUtils.getBuildCollectionId(buildResponse.getResponseValue()));
+                        publisher.getDescriptor().getHygieiaJenkinsName(), HygieiaUtils.getBuildCollectionId(buildResponse.getResponseValue()), publisher.getHygieiaTest().isFailuresOnly());
                 if (request != null) {
                     HygieiaResponse testResponse = getHygieiaService(r).publishTestResults(request);
                     if (testResponse.getResponseCode() == HttpStatus.SC_CREATED) {
@@ -154,9 +181,7 @@ public class ActiveJobNotifier implements FineGrainedNotifier {
 
             }
 
-            boolean publishDeploy = (publisher.getHygieiaDeploy() != null) && successBuild;
             if (publishDeploy) {
-                DeployBuilder deployBuilder = new DeployBuilder(r, publisher, listener, buildResponse.getResponseValue());
                 Set<DeployDataCreateRequest> requests = deployBuilder.getDeploys();
                 for (DeployDataCreateRequest bac : requests) {
                     HygieiaResponse deployResponse = getHygieiaService(r).publishDeployData(bac);
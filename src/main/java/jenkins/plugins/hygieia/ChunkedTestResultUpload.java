@@ -0,0 +1,210 @@
+package jenkins.plugins.hygieia;
+
+import com.capitalone.dashboard.model.TestCapability;
+import com.capitalone.dashboard.request.TestDataCreateRequest;
+import hygieia.utils.HygieiaUtils;
+import org.apache.commons.httpclient.HttpStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Posts a {@link TestDataCreateRequest} either whole or, against a Hygieia API known to take them, as
+ * size-bounded chunks that share the execution id of the original.
+ * <p>
+ * {@code /v2/quality/test} keeps one test result per collector item and execution id, so chunks posted there would
+ * each replace the one before. The stock Hygieia API has nothing else, so chunking is off unless a byte limit is
+ * given: it is an opt-in for APIs that also serve {@code /v2/quality/test/chunk?index=i}, which appends the
+ * capabilities and counts of chunk {@code i} to the result of the execution and completes it once the chunk
+ * posted with {@code &last=true} has arrived. Posting the same index again replaces that chunk, which is what makes
+ * an upload resumable. Without a limit, or when everything fits in one chunk, the request is posted to
+ * {@code /v2/quality/test} as it always was.
+ * <p>
+ * Capabilities are packed in order until the next one would push a chunk over the byte limit. A capability
+ * that is larger than the limit on its own is sent in a chunk by itself, since splitting it would change
+ * what the dashboard counts. Each chunk carries the counts of the capabilities it holds, so the chunks add
+ * up to the counts of the original request. Chunks are serialized one at a time as they are posted, each
+ * capability once, so no more than one chunk is held in memory next to the request.
+ * <p>
+ * The upload remembers which chunks were accepted: calling {@link #resume(RestCall, String)} again after a
+ * failed post carries on from the chunk that failed instead of starting over.
+ */
+public class ChunkedTestResultUpload {
+
+    private static final Logger logger = Logger.getLogger(ChunkedTestResultUpload.class.getName());
+
+    static final String CHUNK_PATH = "/chunk";
+    private static final byte[] EMPTY_CAPABILITIES = "\"testCapabilities\":[]".getBytes(StandardCharsets.UTF_8);
+
+    private final TestDataCreateRequest request;
+    private final List<TestCapability> capabilities;
+    private final int maxChunkBytes;
+    // the chunks before nextChunk were accepted, they held the capabilities before nextCapability
+    private int nextChunk;
+    private int nextCapability;
+    private boolean complete;
+    // the serialized chunk nextChunk while it is being posted, and the capability after it
+    private String chunkBody;
+    private int chunkEnd;
+    private byte[] carried;
+
+    /**
+     * @param maxChunkBytes the most bytes to post to the chunk endpoint at once; 0 or less posts the request whole
+     */
+    public ChunkedTestResultUpload(TestDataCreateRequest request, int maxChunkBytes) {
+        this.request = request;
+        this.capabilities = new ArrayList<>(request.getTestCapabilities());
+        this.maxChunkBytes = maxChunkBytes;
+    }
+
+    /**
+     * @return number of chunks the API has accepted so far
+     */
+    public int getCompletedChunks() {
+        return nextChunk;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Posts the chunks that have not been accepted yet, stopping at the first one that is rejected.
+     *
+     * @param url the test result endpoint, {@code /v2/quality/test}
+     * @return the response for the last chunk that was posted
+     */
+    public RestCall.RestCallResponse resume(RestCall restCall, String url) throws IOException {
+        if (maxChunkBytes <= 0) {
+            return postWhole(restCall, url);
+        }
+        RestCall.RestCallResponse callResponse = null;
+        while (!complete) {
+            if (null == chunkBody) {
+                serializeNextChunk();
+            }
+            boolean last = chunkEnd == capabilities.size();
+            if (nextChunk == 0 && last) {
+                return postWhole(restCall, url);
+            }
+            String chunkUrl = url + CHUNK_PATH + "?index=" + nextChunk + (last ? "&last=true" : "");
+            callResponse = restCall.makeRestCallPost(chunkUrl, chunkBody);
+            int responseCode = callResponse.getResponseCode();
+            if (responseCode != HttpStatus.SC_CREATED) {
+                logger.log(Level.WARNING, "Hygieia: Test result chunk " + (nextChunk + 1) + " for execution "
+                        + request.getExecutionId() + " was rejected. Response: " + responseCode);
+                return callResponse;
+            }
+            nextChunk++;
+            nextCapability = chunkEnd;
+            chunkBody = null;
+            complete = last;
+        }
+        return callResponse;
+    }
+
+    private RestCall.RestCallResponse postWhole(RestCall restCall, String url) throws IOException {
+        String jsonString = new String(HygieiaUtils.convertObjectToJsonBytes(request), StandardCharsets.UTF_8);
+        RestCall.RestCallResponse callResponse = restCall.makeRestCallPost(url, jsonString);
+        complete = callResponse.getResponseCode() == HttpStatus.SC_CREATED;
+        return callResponse;
+    }
+
+    // packs the capabilities from nextCapability into chunkBody, keeping the one that did not fit for the next chunk
+    private void serializeNextChunk() throws IOException {
+        long headerBytes = HygieiaUtils.convertObjectToJsonBytes(newChunk(0, 0)).length;
+        long chunkBytes = headerBytes;
+        List<byte[]> packed = new ArrayList<>();
+        int end = nextCapability;
+        while (end < capabilities.size()) {
+            byte[] json = null != carried ? carried : HygieiaUtils.convertObjectToJsonBytes(capabilities.get(end));
+            carried = null;
+            // one byte for the separating comma
+            long capabilityBytes = json.length + 1;
+            if (!packed.isEmpty() && chunkBytes + capabilityBytes > maxChunkBytes) {
+                carried = json;
+                break;
+            }
+            packed.add(json);
+            chunkBytes += capabilityBytes;
+            end++;
+        }
+
+        byte[] header = HygieiaUtils.convertObjectToJsonBytes(newChunk(nextCapability, end));
+        int at = indexOf(header, EMPTY_CAPABILITIES);
+        ByteArrayOutputStream body = new ByteArrayOutputStream((int) Math.min(Integer.MAX_VALUE, chunkBytes));
+        // the serialized capabilities go between the brackets of the empty list of the header
+        int splice = at + EMPTY_CAPABILITIES.length - 1;
+        body.write(header, 0, splice);
+        for (int i = 0; i < packed.size(); i++) {
+            if (i > 0) {
+                body.write(',');
+            }
+            body.write(packed.get(i));
+        }
+        body.write(header, splice, header.length - splice);
+        chunkBody = new String(body.toByteArray(), StandardCharsets.UTF_8);
+        chunkEnd = end;
+    }
+
+    private static int indexOf(byte[] bytes, byte[] part) throws IOException {
+        outer:
+        for (int i = 0; i <= bytes.length - part.length; i++) {
+            for (int j = 0; j < part.length; j++) {
+                if (bytes[i + j] != part[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IOException("Test result request has no list of capabilities");
+    }
+
+    // the fields of the request with the counts of capabilities [from, to) and no capabilities
+    private TestDataCreateRequest newChunk(int from, int to) {
+        TestDataCreateRequest chunk = new TestDataCreateRequest();
+        chunk.setServerUrl(request.getServerUrl());
+        chunk.setTestJobId(request.getTestJobId());
+        chunk.setType(request.getType());
+        chunk.setTestJobName(request.getTestJobName());
+        chunk.setTestJobUrl(request.getTestJobUrl());
+        chunk.setTimestamp(request.getTimestamp());
+        chunk.setNiceName(request.getNiceName());
+        chunk.setDescription(request.getDescription());
+        chunk.setDuration(request.getDuration());
+        chunk.setEndTime(request.getEndTime());
+        chunk.setExecutionId(request.getExecutionId());
+        chunk.setStartTime(request.getStartTime());
+        chunk.setTargetAppName(request.getTargetAppName());
+        chunk.setTargetEnvName(request.getTargetEnvName());
+
+        int skippedCount = 0, successCount = 0, failCount = 0, unknownCount = 0;
+        for (TestCapability cap : capabilities.subList(from, to)) {
+            switch (cap.getStatus()) {
+                case Success:
+                    successCount++;
+                    break;
+                case Failure:
+                    failCount++;
+                    break;
+                case Skipped:
+                    skippedCount++;
+                    break;
+                default:
+                    unknownCount++;
+                    break;
+            }
+        }
+        chunk.setTotalCount(to - from);
+        chunk.setSuccessCount(successCount);
+        chunk.setFailureCount(failCount);
+        chunk.setSkippedCount(skippedCount);
+        chunk.setUnknownStatusCount(unknownCount);
+        return chunk;
+    }
+}
@@ -7,7 +7,6 @@ import com.capitalone.dashboard.request.DeployDataCreateRequest;
 import com.capitalone.dashboard.request.GenericCollectorItemCreateRequest;
 import com.capitalone.dashboard.request.MetadataCreateRequest;
 import com.capitalone.dashboard.request.TestDataCreateRequest;
-import hudson.model.BuildListener;
 import hygieia.utils.HygieiaUtils;
 import org.apache.commons.httpclient.HttpStatus;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -27,18 +26,23 @@ import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-
+/**
+ * Publishes to one Hygieia API endpoint. An instance holds nothing per build and is safe to share between builds,
+ * see {@link HygieiaServiceRegistry}.
+ */
 public class DefaultHygieiaService implements HygieiaService {
 
     private static final Logger logger = Logger.getLogger(DefaultHygieiaService.class.getName());
 
-    private String hygieiaAPIUrl;
-    private String hygieiaToken;
-    private String hygieiaJenkinsName;
-    private boolean useProxy;
-    private BuildListener listener;
+    private final String hygieiaAPIUrl;
+    private final String hygieiaToken;
+    private final String hygieiaJenkinsName;
+    private final boolean useProxy;
+    private final RestCall restCall;
 
     private static final int RETRY_COUNT = 3;
+    // test results are posted whole unless this is set, only for an API that takes them in chunks, see ChunkedTestResultUpload
+    private static final int MAX_TEST_CHUNK_BYTES = Integer.getInteger(DefaultHygieiaService.class.getName() + ".maxTestChunkBytes", 0);
 
     public DefaultHygieiaService(String hygieiaAPIUrl, String hygieiaToken, String hygieiaJenkinsName, boolean useProxy) {
         super();
@@ -46,10 +50,7 @@ public class DefaultHygieiaService implements HygieiaService {
         this.hygieiaToken = hygieiaToken;
         this.hygieiaJenkinsName = hygieiaJenkinsName;
         this.useProxy = useProxy;
-    }
-
-    public void setHygieiaAPIUrl(String hygieiaAPIUrl) {
-        this.hygieiaAPIUrl = hygieiaAPIUrl;
+        this.restCall = new RestCall(useProxy);
     }
 
     @Override
@@ -58,7 +59,6 @@ public class DefaultHygieiaService implements HygieiaService {
         int responseCode = HttpStatus.SC_NO_CONTENT;
         try {
             String jsonString = new String(HygieiaUtils.convertObjectToJsonBytes(request));
-            RestCall restCall = new RestCall(useProxy);
             RestCall.RestCallResponse callResponse = restCall.makeRestCallPost(hygieiaAPIUrl + "/v2/build", jsonString);
             responseCode = callResponse.getResponseCode();
             responseValue = callResponse.getResponseString().replaceAll("\"", "");
@@ -79,7 +79,6 @@ public class DefaultHygieiaService implements HygieiaService {
         int responseCode = HttpStatus.SC_NO_CONTENT;
         try {
             String jsonString = new String(HygieiaUtils.convertObjectToJsonBytes(request));
-            RestCall restCall = new RestCall(useProxy);
             RestCall.RestCallResponse callResponse = restCall.makeRestCallPost(hygieiaAPIUrl + "/v3/build", jsonString, request.getClientReference());
             responseCode = callResponse.getResponseCode();
             responseValue = callResponse.getResponseString();
@@ -101,7 +100,6 @@ public class DefaultHygieiaService implements HygieiaService {
         int responseCode = HttpStatus.SC_NO_CONTENT;
         try {
             String jsonString = new String(HygieiaUtils.convertObjectToJsonBytes(request));
-            RestCall restCall = new RestCall(useProxy);
             RestCall.RestCallResponse callResponse = restCall.makeRestCallPost(hygieiaAPIUrl + "/artifact", jsonString);
             responseCode = callResponse.getResponseCode();
             responseValue = callResponse.getResponseString();
@@ -121,9 +119,13 @@ public class DefaultHygieiaService implements HygieiaService {
         String responseValue;
         int responseCode = HttpStatus.SC_NO_CONTENT;
         try {
-            String jsonString = new String(HygieiaUtils.convertObjectToJsonBytes(request));
-            RestCall restCall = new RestCall(useProxy);
-            RestCall.RestCallResponse callResponse = restCall.makeRestCallPost(hygieiaAPIUrl + "/v2/quality/test", jsonString);
+            ChunkedTestResultUpload upload = new ChunkedTestResultUpload(request, MAX_TEST_CHUNK_BYTES);
+            RestCall.RestCallResponse callResponse = upload.resume(restCall, hygieiaAPIUrl + "/v2/quality/test");
+            for (int attempt = 1; !upload.isComplete() && attempt < RETRY_COUNT; attempt++) {
+                logger.log(Level.WARNING, "Hygieia: Resuming test result publishing at chunk " + (upload.getCompletedChunks() + 1));
+                sleepOneSecond();
+                callResponse = upload.resume(restCall, hygieiaAPIUrl + "/v2/quality/test");
+            }
             responseCode = callResponse.getResponseCode();
             responseValue = callResponse.getResponseString();
             if (responseCode != HttpStatus.SC_CREATED) {
@@ -143,7 +145,6 @@ public class DefaultHygieiaService implements HygieiaService {
         int responseCode = HttpStatus.SC_NO_CONTENT;
         try {
             String jsonString = new String(HygieiaUtils.convertObjectToJsonBytes(request));
-            RestCall restCall = new RestCall(useProxy);
             RestCall.RestCallResponse callResponse = restCall.makeRestCallPost(hygieiaAPIUrl + "/v2/quality/static-analysis", jsonString, request.getClientReference());
             responseCode = callResponse.getResponseCode();
             responseValue = callResponse.getResponseString();
@@ -162,7 +163,6 @@ public class DefaultHygieiaService implements HygieiaService {
         int responseCode = HttpStatus.SC_NO_CONTENT;
         try {
             String jsonString = new String(HygieiaUtils.convertObjectToJsonBytes(request));
-            RestCall restCall = new RestCall(useProxy);
             RestCall.RestCallResponse callResponse = restCall.makeRestCallPost(hygieiaAPIUrl + "/v2/deploy", jsonString);
             responseCode = callResponse.getResponseCode();
             responseValue = callResponse.getResponseString();
@@ -183,7 +183,6 @@ public class DefaultHygieiaService implements HygieiaService {
         int responseCode = HttpStatus.SC_NO_CONTENT;
         try {
             String jsonString = new String(HygieiaUtils.convertObjectToJsonBytes(request));
-            RestCall restCall = new RestCall(useProxy);
             RestCall.RestCallResponse callResponse = restCall.makeRestCallPost(hygieiaAPIUrl + "/generic-item", jsonString, request.getClientReference());
             responseCode = callResponse.getResponseCode();
             responseValue = callResponse.getResponseString();
@@ -204,7 +203,6 @@ public class DefaultHygieiaService implements HygieiaService {
         int responseCode = HttpStatus.SC_NO_CONTENT;
         try {
             String jsonString = new String(HygieiaUtils.convertObjectToJsonBytes(request));
-            RestCall restCall = new RestCall(useProxy);
             RestCall.RestCallResponse callResponse = restCall.makeRestCallPost(hygieiaAPIUrl + "/generic-binary-artifact", jsonString);
             responseCode = callResponse.getResponseCode();
             responseValue = callResponse.getResponseString();
@@ -226,7 +224,6 @@ public class DefaultHygieiaService implements HygieiaService {
         int responseCode = HttpStatus.SC_NO_CONTENT;
         try {
             String jsonString = new String(HygieiaUtils.convertObjectToJsonBytes(request));
-            RestCall restCall = new RestCall(useProxy);
             RestCall.RestCallResponse callResponse = restCall.makeRestCallPost(hygieiaAPIUrl + "/metadata/create", jsonString, request.getClientReference());
             responseCode = callResponse.getResponseCode();
             responseValue = callResponse.getResponseString();
@@ -244,7 +241,6 @@ public class DefaultHygieiaService implements HygieiaService {
 
 
     private String getCollectorItemJSON(String type) {
-        RestCall restCall = new RestCall(useProxy);
         RestCall.RestCallResponse callResponse = restCall.makeRestCallGet(hygieiaAPIUrl + "/collector/item/type/" + type);
         int responseCode = callResponse.getResponseCode();
         if (responseCode != HttpStatus.SC_OK) {
@@ -256,7 +252,6 @@ public class DefaultHygieiaService implements HygieiaService {
 
     private String getDeploymentDetailsJSON(String appName) {
         ///deploy/status/application/
-        RestCall restCall = new RestCall(useProxy);
         RestCall.RestCallResponse callResponse = restCall.makeRestCallGet(hygieiaAPIUrl + "/deploy/status/application/" + appName);
         int responseCode = callResponse.getResponseCode();
         if (responseCode != HttpStatus.SC_OK) {
@@ -307,7 +302,6 @@ public class DefaultHygieiaService implements HygieiaService {
 
 
     public boolean testConnection() {
-        RestCall restCall = new RestCall(useProxy);
         RestCall.RestCallResponse callResponse;
         List<String> hygieiaAPIUrls = Arrays.asList(hygieiaAPIUrl.split(";"));
         if(hygieiaAPIUrls.isEmpty()) {
@@ -332,22 +326,20 @@ public class DefaultHygieiaService implements HygieiaService {
         logger.log(Level.FINE, METHOD_NAME + " Attempting Call to Jenkins api for : <" + url+"> using user : " +
                 "<"+jenkinsUser+">");
         RestCall.RestCallResponse callResponse = null;
-        synchronized (this){
-            while(attempt_call < RETRY_COUNT) {
-                callResponse = makeRestCallForStageResponse(url, jenkinsUser, token);
-                if(!Objects.isNull(callResponse)) {
-                    String jsonString = callResponse.getResponseString();
-                    try {
-                        //check if the response is a valid json String
-                        new JSONParser().parse(jsonString);
-                        return callResponse;
-                    }
-                    catch (Exception e) {
-                        attempt_call++;
-                        logger.log(Level.WARNING,METHOD_NAME +" Rest Call try # " + attempt_call + " failed due to "
-                                + ExceptionUtils.getMessage(e) + ". Will retry after 1 Second.");
-                        sleepOneSecond();
-                    }
+        while(attempt_call < RETRY_COUNT) {
+            callResponse = makeRestCallForStageResponse(url, jenkinsUser, token);
+            if(!Objects.isNull(callResponse)) {
+                String jsonString = callResponse.getResponseString();
+                try {
+                    //check if the response is a valid json String
+                    new JSONParser().parse(jsonString);
+                    return callResponse;
+                }
+                catch (Exception e) {
+                    attempt_call++;
+                    logger.log(Level.WARNING,METHOD_NAME +" Rest Call try # " + attempt_call + " failed due to "
+                            + ExceptionUtils.getMessage(e) + ". Will retry after 1 Second.");
+                    sleepOneSecond();
                 }
             }
         }
@@ -355,7 +347,6 @@ public class DefaultHygieiaService implements HygieiaService {
     }
 
     private RestCall.RestCallResponse makeRestCallForStageResponse(String url, String jenkinsUser, String token){
-        RestCall restCall = new RestCall(useProxy);
         RestCall.RestCallResponse callResponse;
         callResponse = restCall.makeRestCallGet(url,jenkinsUser,token);
         return callResponse;
@@ -0,0 +1,188 @@
+package jenkins.plugins.hygieia;
+
+import hudson.model.Job;
+import hygieia.builder.GenericCollectorItemBuilder;
+import hygieia.utils.JobExclusionMatcher;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * An immutable view of the global configuration of {@link HygieiaPublisher.DescriptorImpl}, parsed once whenever the
+ * configuration is loaded or changed: the API endpoints and app URLs split, the job exclusions and the patterns of
+ * the generic collector items compiled. Listeners and steps read the whole configuration through one volatile field
+ * and never see a half-saved one.
+ * <p>
+ * The {@link HygieiaService} of each endpoint is created on first use and reused for as long as the configuration is.
+ */
+public final class HygieiaGlobalConfig {
+
+    // ',' is what the global listener has always split on, ';' what the pipeline steps have
+    private static final Pattern URL_SEPARATOR = Pattern.compile("[,;]");
+
+    private final HygieiaPublisher.DescriptorImpl descriptor;
+    private final List<String> apiEndpoints;
+    private final List<String> appUrls;
+    private final String hygieiaToken;
+    private final String hygieiaJenkinsName;
+    private final String jenkinsUserId;
+    private final String jenkinsToken;
+    private final boolean useProxy;
+    private final boolean hygieiaPublishBuildDataGlobal;
+    private final boolean hygieiaPublishSonarDataGlobal;
+    private final boolean showConsoleOutput;
+    private final boolean captureLogs;
+    private final List<HygieiaPublisher.GenericCollectorItem> genericCollectorItems;
+    private final Map<HygieiaPublisher.GenericCollectorItem, Pattern> logPatterns = new IdentityHashMap<>();
+    private final JobExclusionMatcher jobExclusions;
+    private final ConcurrentMap<String, HygieiaService> services = new ConcurrentHashMap<>();
+
+    private HygieiaGlobalConfig(HygieiaPublisher.DescriptorImpl descriptor) {
+        this.descriptor = descriptor;
+        // app URLs line up with endpoints by position, a blank endpoint is dropped along with its app URL
+        List<String> configuredEndpoints = split(descriptor.getHygieiaAPIUrl());
+        List<String> configuredAppUrls = split(descriptor.getHygieiaAppUrl());
+        List<String> endpoints = new ArrayList<>();
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < configuredEndpoints.size(); i++) {
+            if (!configuredEndpoints.get(i).isEmpty()) {
+                endpoints.add(configuredEndpoints.get(i));
+                urls.add(i < configuredAppUrls.size() ? configuredAppUrls.get(i) : null);
+            }
+        }
+        this.apiEndpoints = Collections.unmodifiableList(endpoints);
+        this.appUrls = Collections.unmodifiableList(urls);
+        this.hygieiaToken = descriptor.getHygieiaToken();
+        this.hygieiaJenkinsName = descriptor.getHygieiaJenkinsName();
+        this.jenkinsUserId = descriptor.getJenkinsUserId();
+        this.jenkinsToken = descriptor.getJenkinsToken();
+        this.useProxy = descriptor.isUseProxy();
+        this.hygieiaPublishBuildDataGlobal = descriptor.isHygieiaPublishBuildDataGlobal();
+        this.hygieiaPublishSonarDataGlobal = descriptor.isHygieiaPublishSonarDataGlobal();
+        this.showConsoleOutput = descriptor.isShowConsoleOutput();
+        this.captureLogs = descriptor.isCaptureLogs();
+        List<HygieiaPublisher.GenericCollectorItem> items = new ArrayList<>();
+        if (null != descriptor.getHygieiaPublishGenericCollectorItems()) {
+            for (HygieiaPublisher.GenericCollectorItem item : descriptor.getHygieiaPublishGenericCollectorItems()) {
+                items.add(item);
+                logPatterns.put(item, GenericCollectorItemBuilder.compileLogPattern(item.getPattern()));
+            }
+        }
+        this.genericCollectorItems = Collections.unmodifiableList(items);
+        this.jobExclusions = JobExclusionMatcher.compile(descriptor.getHygieiaExcludeJobNames());
+    }
+
+    public static HygieiaGlobalConfig of(HygieiaPublisher.DescriptorImpl descriptor) {
+        return new HygieiaGlobalConfig(descriptor);
+    }
+
+    /**
+     * @return the trimmed entries of {@code urls}, blank ones included so that positions are kept
+     */
+    private static List<String> split(String urls) {
+        List<String> list = new ArrayList<>();
+        if (StringUtils.isBlank(urls)) {
+            return list;
+        }
+        for (String url : URL_SEPARATOR.split(urls.trim())) {
+            list.add(url.trim());
+        }
+        return list;
+    }
+
+    /**
+     * @return the non-empty API endpoints, in the order they were configured
+     */
+    public List<String> getApiEndpoints() {
+        return apiEndpoints;
+    }
+
+    /**
+     * @return the app URL configured for the {@code index}th endpoint of {@link #getApiEndpoints()}, or {@code null}
+     */
+    public String getAppUrl(int index) {
+        return index < appUrls.size() ? appUrls.get(index) : null;
+    }
+
+    public HygieiaService getHygieiaService(String apiEndpoint) {
+        HygieiaService service = services.get(apiEndpoint);
+        if (null == service) {
+            service = descriptor.getHygieiaService(apiEndpoint, hygieiaToken, hygieiaJenkinsName, useProxy);
+            HygieiaService raced = services.putIfAbsent(apiEndpoint, service);
+            if (null != raced) {
+                service = raced;
+            }
+        }
+        return service;
+    }
+
+    /**
+     * @return whether the global listener publishes anything at all
+     */
+    public boolean isPublishing() {
+        return hygieiaPublishBuildDataGlobal || hygieiaPublishSonarDataGlobal || !genericCollectorItems.isEmpty();
+    }
+
+    public boolean isJobExcluded(Job<?, ?> job) {
+        return jobExclusions.isExcluded(job.getName(), job.getFullName());
+    }
+
+    public String getHygieiaToken() {
+        return hygieiaToken;
+    }
+
+    public String getHygieiaJenkinsName() {
+        return hygieiaJenkinsName;
+    }
+
+    public String getJenkinsUserId() {
+        return jenkinsUserId;
+    }
+
+    public String getJenkinsToken() {
+        return jenkinsToken;
+    }
+
+    public boolean isUseProxy() {
+        return useProxy;
+    }
+
+    public boolean isHygieiaPublishBuildDataGlobal() {
+        return hygieiaPublishBuildDataGlobal;
+    }
+
+    public boolean isHygieiaPublishSonarDataGlobal() {
+        return hygieiaPublishSonarDataGlobal;
+    }
+
+    public boolean isShowConsoleOutput() {
+        return showConsoleOutput;
+    }
+
+    public boolean isCaptureLogs() {
+        return captureLogs;
+    }
+
+    public List<HygieiaPublisher.GenericCollectorItem> getHygieiaPublishGenericCollectorItems() {
+        return genericCollectorItems;
+    }
+
+    /**
+     * @return the compiled pattern {@link GenericCollectorItemBuilder} looks for in the log for {@code item}
+     */
+    public Pattern getLogPattern(HygieiaPublisher.GenericCollectorItem item) {
+        Pattern pattern = logPatterns.get(item);
+        return null != pattern ? pattern : GenericCollectorItemBuilder.compileLogPattern(item.getPattern());
+    }
+
+    public String getPluginVersionInfo() {
+        return descriptor.getPluginVersionInfo();
+    }
+}
@@ -26,7 +26,6 @@ import org.json.simple.parser.ParseException;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -46,13 +45,14 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
     @Override
     public void onStarted(Run run, TaskListener listener) {
         super.onStarted(run, listener);
-        HygieiaPublisher.DescriptorImpl hygieiaGlobalListenerDescriptor = getDescriptor();
-        boolean showConsoleOutput = hygieiaGlobalListenerDescriptor.isShowConsoleOutput();
-        boolean publish = hygieiaGlobalListenerDescriptor.isHygieiaPublishBuildDataGlobal()
-                || hygieiaGlobalListenerDescriptor.isHygieiaPublishSonarDataGlobal()
-                || CollectionUtils.isNotEmpty(hygieiaGlobalListenerDescriptor.getHygieiaPublishGenericCollectorItems());
-        String rawApiEndopints = StringUtils.trimToEmpty(hygieiaGlobalListenerDescriptor.getHygieiaAPIUrl());
-        List<String> apiEndpints = Arrays.asList(rawApiEndopints.split(HygieiaUtils.SEPERATOR));
+        HygieiaGlobalConfig globalConfig = getDescriptor().getGlobalConfig();
+        boolean showConsoleOutput = globalConfig.isShowConsoleOutput();
+        boolean publish = globalConfig.isPublishing();
+        if (publish && globalConfig.isJobExcluded(run.getParent())) {
+            if (showConsoleOutput) { listener.getLogger().println("Hygieia: Skipping Automatic publish to Hygieia as the job was excluded in global configuration. "); }
+            return;
+        }
+        List<String> apiEndpints = globalConfig.getApiEndpoints();
 
         if (CollectionUtils.isEmpty(apiEndpints)) {
             if (showConsoleOutput) { listener.getLogger().println("Hygieia: Skipping Automatic publish to Hygieia as no service endpoints were configured. "); }
@@ -67,8 +67,7 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
         final long startTime = run.getStartTimeInMillis();
         int index = 0;
         for (String apiEndPoint : apiEndpints) {
-            if (StringUtils.isEmpty(apiEndPoint)) { continue; }
-            HygieiaService hygieiaService = getHygieiaService(hygieiaGlobalListenerDescriptor, apiEndPoint);
+            HygieiaService hygieiaService = globalConfig.getHygieiaService(apiEndPoint);
             BuildDataCreateRequest buildRequest = new BuildDataCreateRequest();
             buildRequest.setJobName(HygieiaUtils.getJobPath(run));
             String buildUrl = HygieiaUtils.getBuildUrl(run);
@@ -88,7 +87,7 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
                     BuildDataCreateResponse buildDataResponse = HygieiaUtils.convertJsonToObject(buildResponse.getResponseValue(), BuildDataCreateResponse.class);
                     String buildString = String.format("%s,%s", buildDataResponse.getId().toString(), buildDataResponse.getCollectorItemId().toString());
                     if (showConsoleOutput) { listener.getLogger().println("Hygieia: Auto Published Build Complete Data to " + apiEndPoint + " . Response Code: " + buildResponse.getResponseCode() + ". " + buildString); }
-                    publishGenericCollectorItemsOnStart(run, listener, hygieiaGlobalListenerDescriptor, hygieiaService, buildString,clientReference, buildUrl);
+                    publishGenericCollectorItemsOnStart(run, listener, globalConfig, hygieiaService, buildString,clientReference, buildUrl);
                 } catch (IOException e) {
                     if (showConsoleOutput) { listener.getLogger().println("Hygieia: Publishing Build Complete Data to " + apiEndPoint + " , however error reading response. " + '\n' + e.getMessage()); }
                 }
@@ -106,32 +105,29 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
     @Override
     public void onCompleted(Run run, @Nonnull TaskListener listener) {
         super.onCompleted(run, listener);
-        HygieiaPublisher.DescriptorImpl hygieiaGlobalListenerDescriptor = getDescriptor();
+        HygieiaGlobalConfig globalConfig = getDescriptor().getGlobalConfig();
         final long starttime = System.currentTimeMillis();
-        boolean showConsoleOutput = hygieiaGlobalListenerDescriptor.isShowConsoleOutput();
+        boolean showConsoleOutput = globalConfig.isShowConsoleOutput();
 
         // if publish is not enabled and generic items collection is empty do not proceed.
-        boolean publish = hygieiaGlobalListenerDescriptor.isHygieiaPublishBuildDataGlobal()
-                            || hygieiaGlobalListenerDescriptor.isHygieiaPublishSonarDataGlobal()
-                            || CollectionUtils.isNotEmpty(hygieiaGlobalListenerDescriptor.getHygieiaPublishGenericCollectorItems());
+        boolean publish = globalConfig.isPublishing();
 
         if(!publish) { super.onCompleted(run, listener); return; }
 
         //added to print the Status of Jenkins Job before attempting to publish to Hygieia
         if(showConsoleOutput) { listener.getLogger().println("Finished: " + run.getResult()); }
 
-        if (HygieiaUtils.isJobExcluded(run.getParent().getName(), hygieiaGlobalListenerDescriptor.getHygieiaExcludeJobNames())) {
+        if (globalConfig.isJobExcluded(run.getParent())) {
             if (showConsoleOutput) { listener.getLogger().println("Hygieia: Skipping Automatic publish to Hygieia as the job was excluded in global configuration. "); }
             super.onCompleted(run, listener);
             return;
         }
 
         if (showConsoleOutput) {
-            listener.getLogger().println("Hygieia: Automatically publishing build data to Hygieia using " + hygieiaGlobalListenerDescriptor.getPluginVersionInfo() + ", Please refresh your browser to see the status.");
+            listener.getLogger().println("Hygieia: Automatically publishing build data to Hygieia using " + globalConfig.getPluginVersionInfo() + ", Please refresh your browser to see the status.");
         }
 
-        String rawApiEndopints = StringUtils.trimToEmpty(hygieiaGlobalListenerDescriptor.getHygieiaAPIUrl());
-        List<String> apiEndpints = Arrays.asList(rawApiEndopints.split(HygieiaUtils.SEPERATOR));
+        List<String> apiEndpints = globalConfig.getApiEndpoints();
 
         int index = 0;
         if (CollectionUtils.isEmpty(apiEndpints)) {
@@ -140,26 +136,22 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
             return;
         }
 
-        String rawAppUrls = StringUtils.trimToEmpty(hygieiaGlobalListenerDescriptor.getHygieiaAppUrl());
-        List<String> appUrls = Arrays.asList(rawAppUrls.split(HygieiaUtils.SEPERATOR));
-
         for (String apiEndPoint : apiEndpints) {
-            if (StringUtils.isEmpty(apiEndPoint)) { continue; }
-            HygieiaService hygieiaService = getHygieiaService(hygieiaGlobalListenerDescriptor, apiEndPoint);
-            String hygieiaAppUrl = (CollectionUtils.size(appUrls) > index) ? appUrls.get(index) : null;
+            HygieiaService hygieiaService = globalConfig.getHygieiaService(apiEndPoint);
+            String hygieiaAppUrl = globalConfig.getAppUrl(index);
             String convertedBuildResponseString = null;
             String dashboardLink = null;
             BuildDataCreateResponse buildDataCreateResponse = null;
 
-            Triple<String, String, BuildDataCreateResponse> buildResponseTriple = publishBuildData(run, listener, hygieiaGlobalListenerDescriptor, hygieiaService, hygieiaAppUrl);
+            Triple<String, String, BuildDataCreateResponse> buildResponseTriple = publishBuildData(run, listener, globalConfig, apiEndPoint, hygieiaService, hygieiaAppUrl);
 
             if (buildResponseTriple != null) {
                 convertedBuildResponseString = buildResponseTriple.getLeft();
                 dashboardLink = buildResponseTriple.getMiddle();
                 buildDataCreateResponse = buildResponseTriple.getRight();
             }
-            publishSonarData(run, listener, hygieiaGlobalListenerDescriptor, hygieiaService, StringUtils.trimToNull(convertedBuildResponseString), buildDataCreateResponse);
-            publishGenericCollectorItemsOnEnd(run, listener, hygieiaGlobalListenerDescriptor, hygieiaService, StringUtils.trimToNull(convertedBuildResponseString), buildDataCreateResponse);
+            publishSonarData(run, listener, globalConfig, hygieiaService, StringUtils.trimToNull(convertedBuildResponseString), buildDataCreateResponse);
+            publishGenericCollectorItemsOnEnd(run, listener, globalConfig, hygieiaService, StringUtils.trimToNull(convertedBuildResponseString), buildDataCreateResponse);
 
             // publish the dashboard link
             if (showConsoleOutput && StringUtils.isNotEmpty(dashboardLink)) {
@@ -171,32 +163,30 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
         if (showConsoleOutput) { listener.getLogger().println("Hygieia: *** Hygieia publish completed in " + (endtime-starttime)/1000 + " seconds at " + org.joda.time.LocalDateTime.now().toString()+" ***"); }
     }
 
-    private Triple<String, String, BuildDataCreateResponse> publishBuildData(Run run, TaskListener listener, HygieiaPublisher.DescriptorImpl hygieiaGlobalListenerDescriptor, HygieiaService hygieiaService, String hygieiaAppUrl) {
+    private Triple<String, String, BuildDataCreateResponse> publishBuildData(Run run, TaskListener listener, HygieiaGlobalConfig globalConfig, String apiEndPoint, HygieiaService hygieiaService, String hygieiaAppUrl) {
         String dashboardLink = null;
         String buildString = null;
         BuildDataCreateResponse buildDataResponse;
-        boolean publishBuildData = hygieiaGlobalListenerDescriptor.isHygieiaPublishBuildDataGlobal()
-                || hygieiaGlobalListenerDescriptor.isHygieiaPublishSonarDataGlobal()
-                || CollectionUtils.isNotEmpty(hygieiaGlobalListenerDescriptor.getHygieiaPublishGenericCollectorItems());
-        if (!publishBuildData) { return null; }
+        if (!globalConfig.isPublishing()) { return null; }
 
-        boolean showConsoleOutput = hygieiaGlobalListenerDescriptor.isShowConsoleOutput();
+        boolean showConsoleOutput = globalConfig.isShowConsoleOutput();
         BuildStatus buildStatus = HygieiaUtils.getBuildStatus(run.getResult());
         LinkedList<BuildStage> buildStages = new LinkedList<>();
         try{
-            buildStages = processStages(run, listener, hygieiaGlobalListenerDescriptor, hygieiaService);
-            buildStages = process_node_links(run, listener, hygieiaGlobalListenerDescriptor, hygieiaService,buildStages);
-            buildStages = process_logs(run, listener, hygieiaGlobalListenerDescriptor, hygieiaService,buildStages);
+            buildStages = processStages(run, listener, globalConfig, hygieiaService);
+            buildStages = process_node_links(run, listener, globalConfig, hygieiaService,buildStages);
+            buildStages = process_logs(run, listener, globalConfig, hygieiaService,buildStages);
         }catch (Exception e){
             if(showConsoleOutput) { listener.getLogger().println("Hygieia: Cause for Jenkins API call failure : " + ExceptionUtils.getRootCauseMessage(e)); }
         }
 
         String startedBy = HygieiaUtils.getUserID(run, listener);
         if(showConsoleOutput) { listener.getLogger().println("Hygieia: This build was initiated by " + startedBy); }
-        BuildDataCreateRequest buildDataCreateRequest = new BuildBuilder().createBuildRequestFromRun(run, hygieiaGlobalListenerDescriptor.getHygieiaJenkinsName(),
-                listener, buildStatus, true, buildStages, startedBy);
+        BuildDataCreateRequest buildDataCreateRequest = new BuildBuilder().createBuildRequestFromRun(run, globalConfig.getHygieiaJenkinsName(),
+                listener, buildStatus, true, buildStages, startedBy, apiEndPoint);
         HygieiaResponse buildResponse = hygieiaService.publishBuildDataV3(buildDataCreateRequest);
         if (buildResponse.getResponseCode() == HttpStatus.SC_CREATED) {
+            PublishedChangeSets.recordPublished(run, apiEndPoint, buildDataCreateRequest.getSourceChangeSet());
             try {
                 buildDataResponse = HygieiaUtils.convertJsonToObject(buildResponse.getResponseValue(), BuildDataCreateResponse.class);
                 buildString = String.format("%s,%s", buildDataResponse.getId().toString(), buildDataResponse.getCollectorItemId().toString());
@@ -219,7 +209,7 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
         return Triple.of(buildString, dashboardLink, buildDataResponse);
     }
 
-    private LinkedList<BuildStage> processStages(Run run, TaskListener listener, HygieiaPublisher.DescriptorImpl hygieiaGlobalListenerDescriptor, HygieiaService hygieiaService) throws HygieiaException{
+    private LinkedList<BuildStage> processStages(Run run, TaskListener listener, HygieiaGlobalConfig globalConfig, HygieiaService hygieiaService) throws HygieiaException{
         LinkedList<BuildStage> buildStages=null;
         // BuildJob will not have any stages hence do not attempt restful calls to Jenkins API.
         if(run instanceof AbstractBuild) { return buildStages;}
@@ -229,7 +219,7 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
 
         String responseString = "";
         try{
-            RestCall.RestCallResponse callResponse = hygieiaService.getStageResponse(wfapiUrl,hygieiaGlobalListenerDescriptor.getJenkinsUserId(),hygieiaGlobalListenerDescriptor.getJenkinsToken());
+            RestCall.RestCallResponse callResponse = hygieiaService.getStageResponse(wfapiUrl,globalConfig.getJenkinsUserId(),globalConfig.getJenkinsToken());
             if(Objects.nonNull(callResponse)){
                 responseString = callResponse.getResponseString();
                 buildStages=  HygieiaUtils.getBuildStages(responseString);
@@ -241,7 +231,7 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
         return buildStages;
     }
 
-    private LinkedList<BuildStage> process_node_links(Run run, TaskListener listener, HygieiaPublisher.DescriptorImpl hygieiaGlobalListenerDescriptor, HygieiaService hygieiaService, LinkedList<BuildStage> buildStages) throws HygieiaException{
+    private LinkedList<BuildStage> process_node_links(Run run, TaskListener listener, HygieiaGlobalConfig globalConfig, HygieiaService hygieiaService, LinkedList<BuildStage> buildStages) throws HygieiaException{
         if (CollectionUtils.isEmpty(buildStages)) return buildStages;
         for (BuildStage stage: buildStages) {
                 String self_url = getSelfUrl(stage.get_links());
@@ -249,7 +239,7 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
                 String exec_node_url = instanceUrl+self_url;
                 String responseString ="";
             try{
-                RestCall.RestCallResponse callResponse = hygieiaService.getStageResponse(exec_node_url,hygieiaGlobalListenerDescriptor.getJenkinsUserId(),hygieiaGlobalListenerDescriptor.getJenkinsToken());
+                RestCall.RestCallResponse callResponse = hygieiaService.getStageResponse(exec_node_url,globalConfig.getJenkinsUserId(),globalConfig.getJenkinsToken());
                 if(Objects.nonNull(callResponse)){
                     responseString = callResponse.getResponseString();
                     HygieiaUtils.setLogUrl(responseString,stage);
@@ -262,17 +252,17 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
     return buildStages;
     }
 
-    private LinkedList<BuildStage> process_logs(Run run, TaskListener listener, HygieiaPublisher.DescriptorImpl hygieiaGlobalListenerDescriptor, HygieiaService hygieiaService, LinkedList<BuildStage> buildStages) throws HygieiaException{
+    private LinkedList<BuildStage> process_logs(Run run, TaskListener listener, HygieiaGlobalConfig globalConfig, HygieiaService hygieiaService, LinkedList<BuildStage> buildStages) throws HygieiaException{
         if (CollectionUtils.isEmpty(buildStages)) return buildStages;
         for (BuildStage stage: buildStages) {
-            boolean isCaptureLog = hygieiaGlobalListenerDescriptor.isCaptureLogs();
+            boolean isCaptureLog = globalConfig.isCaptureLogs();
             if(FAILED.equalsIgnoreCase(stage.getStatus()) && isCaptureLog){
                 String logUrl = stage.getExec_node_logUrl();
                 String instanceUrl = HygieiaUtils.getInstanceUrl(run,listener);
                 String wfapi_log_url = instanceUrl+logUrl;
                 String responseString ="";
                 try{
-                    RestCall.RestCallResponse callResponse = hygieiaService.getStageResponse(wfapi_log_url,hygieiaGlobalListenerDescriptor.getJenkinsUserId(),hygieiaGlobalListenerDescriptor.getJenkinsToken());
+                    RestCall.RestCallResponse callResponse = hygieiaService.getStageResponse(wfapi_log_url,globalConfig.getJenkinsUserId(),globalConfig.getJenkinsToken());
                     if(Objects.nonNull(callResponse)){
                         responseString = callResponse.getResponseString();
                         HygieiaUtils.set_logs(responseString,stage);
@@ -291,14 +281,14 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
        return url;
     }
 
-    private void publishSonarData(Run run, TaskListener listener, HygieiaPublisher.DescriptorImpl hygieiaGlobalListenerDescriptor,
+    private void publishSonarData(Run run, TaskListener listener, HygieiaGlobalConfig globalConfig,
                                   HygieiaService hygieiaService, @Nonnull String convertedBuildResponseString, BuildDataCreateResponse buildDataCreateResponse) {
-        if (!hygieiaGlobalListenerDescriptor.isHygieiaPublishSonarDataGlobal()) { return; }
-        boolean showConsoleOutput = hygieiaGlobalListenerDescriptor.isShowConsoleOutput();
+        if (!globalConfig.isHygieiaPublishSonarDataGlobal()) { return; }
+        boolean showConsoleOutput = globalConfig.isShowConsoleOutput();
         try {
             // Quickfix by using convertedBuildResponseString to make it work with current SonarBuilder will revisit later.
-            CodeQualityCreateRequest request = buildCodeQualityCreateRequest(run, listener, hygieiaGlobalListenerDescriptor.getHygieiaJenkinsName(),
-                    convertedBuildResponseString, hygieiaGlobalListenerDescriptor.isUseProxy());
+            CodeQualityCreateRequest request = buildCodeQualityCreateRequest(run, listener, globalConfig.getHygieiaJenkinsName(),
+                    convertedBuildResponseString, globalConfig.isUseProxy());
             if (request != null) {
                 if(buildDataCreateResponse != null){
                     request.setClientReference(buildDataCreateResponse.getClientReference());
@@ -318,30 +308,30 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
         }
     }
 
-    private void publishGenericCollectorItemsOnEnd(Run run, TaskListener listener, HygieiaPublisher.DescriptorImpl hygieiaGlobalListenerDescriptor,
+    private void publishGenericCollectorItemsOnEnd(Run run, TaskListener listener, HygieiaGlobalConfig globalConfig,
                                                    HygieiaService hygieiaService, @Nonnull String convertedBuildResponseString, BuildDataCreateResponse buildDataCreateResponse) {
-        if (CollectionUtils.isEmpty(hygieiaGlobalListenerDescriptor.getHygieiaPublishGenericCollectorItems())) { return; }
-        boolean showConsoleOutput = hygieiaGlobalListenerDescriptor.isShowConsoleOutput();
-        List<HygieiaPublisher.GenericCollectorItem> publishItems = hygieiaGlobalListenerDescriptor.getHygieiaPublishGenericCollectorItems().stream().filter(p -> !p.isPublishOnStart()).collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(globalConfig.getHygieiaPublishGenericCollectorItems())) { return; }
+        boolean showConsoleOutput = globalConfig.isShowConsoleOutput();
+        List<HygieiaPublisher.GenericCollectorItem> publishItems = globalConfig.getHygieiaPublishGenericCollectorItems().stream().filter(p -> !p.isPublishOnStart()).collect(Collectors.toList());
         String clientReference = (Objects.isNull(buildDataCreateResponse)) ? null : buildDataCreateResponse.getClientReference();
         String buildUrl = (Objects.isNull(buildDataCreateResponse)) ? "" : buildDataCreateResponse.getBuildUrl();
-        publishItems(run, listener, publishItems, showConsoleOutput, hygieiaService, convertedBuildResponseString, clientReference, buildUrl);
+        publishItems(run, listener, globalConfig, publishItems, showConsoleOutput, hygieiaService, convertedBuildResponseString, clientReference, buildUrl);
     }
 
-    private void publishGenericCollectorItemsOnStart(Run run, TaskListener listener, HygieiaPublisher.DescriptorImpl hygieiaGlobalListenerDescriptor,
+    private void publishGenericCollectorItemsOnStart(Run run, TaskListener listener, HygieiaGlobalConfig globalConfig,
                                                      HygieiaService hygieiaService, @Nonnull String convertedBuildResponseString, String clientReference, String buildUrl) {
-        if (CollectionUtils.isEmpty(hygieiaGlobalListenerDescriptor.getHygieiaPublishGenericCollectorItems())) { return; }
-        boolean showConsoleOutput = hygieiaGlobalListenerDescriptor.isShowConsoleOutput();
-        List<HygieiaPublisher.GenericCollectorItem> publishItems = hygieiaGlobalListenerDescriptor.getHygieiaPublishGenericCollectorItems().stream().filter(p -> p.isPublishOnStart()).collect(Collectors.toList());
-        publishItems(run, listener, publishItems, showConsoleOutput, hygieiaService, convertedBuildResponseString, clientReference, buildUrl);
+        if (CollectionUtils.isEmpty(globalConfig.getHygieiaPublishGenericCollectorItems())) { return; }
+        boolean showConsoleOutput = globalConfig.isShowConsoleOutput();
+        List<HygieiaPublisher.GenericCollectorItem> publishItems = globalConfig.getHygieiaPublishGenericCollectorItems().stream().filter(p -> p.isPublishOnStart()).collect(Collectors.toList());
+        publishItems(run, listener, globalConfig, publishItems, showConsoleOutput, hygieiaService, convertedBuildResponseString, clientReference, buildUrl);
     }
 
-    private void publishItems(Run run, TaskListener listener, List<HygieiaPublisher.GenericCollectorItem> items,boolean showConsoleOutput,
+    private void publishItems(Run run, TaskListener listener, HygieiaGlobalConfig globalConfig, List<HygieiaPublisher.GenericCollectorItem> items, boolean showConsoleOutput,
                               HygieiaService hygieiaService, @Nonnull String convertedBuildResponseString, String clientReference, String buildUrl) {
         if (CollectionUtils.isEmpty(items)) { return; }
         for (HygieiaPublisher.GenericCollectorItem item : items) {
             try {
-                List<GenericCollectorItemCreateRequest> genericCollectorItemCreateRequests = GenericCollectorItemBuilder.getInstance().getRequests(run, item.toolName, item.pattern, convertedBuildResponseString);
+                List<GenericCollectorItemCreateRequest> genericCollectorItemCreateRequests = GenericCollectorItemBuilder.getInstance().getRequests(run, item.toolName, globalConfig.getLogPattern(item), convertedBuildResponseString);
                 if (CollectionUtils.isEmpty(genericCollectorItemCreateRequests)) continue;
                 for (GenericCollectorItemCreateRequest gcir : genericCollectorItemCreateRequests) {
                     gcir.setClientReference(clientReference);
@@ -364,9 +354,4 @@ public class HygieiaGlobalListener extends RunListener<Run<?, ?>> {
         return Objects.requireNonNull(Jenkins.getInstance()).getDescriptorByType(HygieiaPublisher.DescriptorImpl.class);
     }
 
-    protected HygieiaService getHygieiaService(HygieiaPublisher.DescriptorImpl hygieiaGlobalListenerDescriptor, String apiEndpoint) {
-        return hygieiaGlobalListenerDescriptor.getHygieiaService(apiEndpoint, hygieiaGlobalListenerDescriptor.getHygieiaToken(),
-                hygieiaGlobalListenerDescriptor.getHygieiaJenkinsName(), hygieiaGlobalListenerDescriptor.isUseProxy());
-    }
-
 }
@@ -21,6 +21,7 @@ import hygieia.utils.HygieiaUtils;
 import net.sf.json.JSONObject;
 import org.apache.commons.lang3.StringUtils;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.StaplerRequest;
 
@@ -252,6 +253,7 @@ public class HygieiaPublisher extends Notifier {
         private final String testType;
         private final String testApplicationName;
         private final String testEnvironmentName;
+        private boolean failuresOnly;
 
         @DataBoundConstructor
         public HygieiaTest(boolean publishTestStart, boolean publishEvenBuildFails, String testFileNamePattern, String testResultsDirectory, String testType, String testApplicationName, String testEnvironmentName) {
@@ -292,6 +294,15 @@ public class HygieiaPublisher extends Notifier {
         public String getTestEnvironmentName() {
             return testEnvironmentName;
         }
+
+        public boolean isFailuresOnly() {
+            return failuresOnly;
+        }
+
+        @DataBoundSetter
+        public void setFailuresOnly(boolean failuresOnly) {
+            this.failuresOnly = failuresOnly;
+        }
     }
 
         public static class GenericCollectorItem extends AbstractDescribableImpl<GenericCollectorItem> {
@@ -362,7 +373,7 @@ public class HygieiaPublisher extends Notifier {
         hygieiaAPIUrl = env.expand(hygieiaAPIUrl);
         hygieiaToken = env.expand(hygieiaToken);
         hygieiaJenkinsName = env.expand(hygieiaJenkinsName);
-        return new DefaultHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
+        return HygieiaServiceRegistry.getHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
     }
 
     @Override
@@ -389,6 +400,8 @@ public class HygieiaPublisher extends Notifier {
         private volatile GenericCollectorItem[] hygieiaPublishGenericCollectorItems =  new GenericCollectorItem[0];
         private volatile String hygieiaBuildIdentifier;
         public String pluginVersionInfo;
+        // rebuilt from the fields above whenever they are loaded or changed
+        private transient volatile HygieiaGlobalConfig globalConfig;
 
         private String deployApplicationNameSelected;
         private String deployEnvSelected;
@@ -397,6 +410,19 @@ public class HygieiaPublisher extends Notifier {
 
         public DescriptorImpl() {
             load();
+            reconfigure();
+        }
+
+        /**
+         * @return the global configuration as it was last saved, parsed once for every build to read
+         */
+        public HygieiaGlobalConfig getGlobalConfig() {
+            return globalConfig;
+        }
+
+        private void reconfigure() {
+            HygieiaServiceRegistry.clear();
+            globalConfig = HygieiaGlobalConfig.of(this);
         }
 
         public String getJenkinsUserId() {
@@ -405,6 +431,7 @@ public class HygieiaPublisher extends Notifier {
 
         public void setJenkinsUserId(String jenkinsUserId) {
             this.jenkinsUserId = jenkinsUserId;
+            reconfigure();
         }
 
         public String getJenkinsToken() {
@@ -413,6 +440,7 @@ public class HygieiaPublisher extends Notifier {
 
         public void setJenkinsToken(String jenkinsToken) {
             this.jenkinsToken = jenkinsToken;
+            reconfigure();
         }
 
         public String getHygieiaAPIUrl() {
@@ -461,6 +489,7 @@ public class HygieiaPublisher extends Notifier {
 
         public void setCaptureLogs(boolean captureLogs) {
             this.captureLogs = captureLogs;
+            reconfigure();
         }
 
         public String getPluginVersionInfo() {
@@ -472,6 +501,7 @@ public class HygieiaPublisher extends Notifier {
 
         public void setHygieiaPublishGenericCollectorItems (GenericCollectorItem... genericCollectorItems) {
             this.hygieiaPublishGenericCollectorItems = genericCollectorItems;
+            reconfigure();
             save();
         }
 
@@ -543,12 +573,13 @@ public class HygieiaPublisher extends Notifier {
                 hygieiaPublishGenericCollectorItems = new GenericCollectorItem[0];
             }
             useProxy = jsonObject.getBoolean("useProxy");
+            reconfigure();
             save();
             return super.configure(sr, formData);
         }
 
         public HygieiaService getHygieiaService(final String hygieiaAPIUrl, final String hygieiaToken, final String hygieiaJenkinsName, final boolean useProxy) {
-            return new DefaultHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
+            return HygieiaServiceRegistry.getHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
         }
 
         @Override
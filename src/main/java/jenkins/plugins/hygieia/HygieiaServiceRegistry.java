@@ -0,0 +1,50 @@
+package jenkins.plugins.hygieia;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands out one long-lived {@link DefaultHygieiaService} per endpoint, token, Jenkins name and proxy setting, in
+ * place of a new service for every publish. The services are shared by every build publishing to the same endpoint
+ * and are dropped whenever the global configuration changes, so that nothing outlives the settings it was made from.
+ * <p>
+ * Services built from environment expanded per job settings are kept as well, least recently used first out
+ * beyond {@code jenkins.plugins.hygieia.HygieiaServiceRegistry.maxServices}.
+ */
+public final class HygieiaServiceRegistry {
+
+    private static final int MAX_SERVICES = Integer.getInteger(HygieiaServiceRegistry.class.getName() + ".maxServices", 64);
+
+    private static final Map<List<Object>, HygieiaService> SERVICES = new LinkedHashMap<List<Object>, HygieiaService>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, HygieiaService> eldest) {
+            return size() > MAX_SERVICES;
+        }
+    };
+
+    private HygieiaServiceRegistry() {
+    }
+
+    public static HygieiaService getHygieiaService(String hygieiaAPIUrl, String hygieiaToken, String hygieiaJenkinsName, boolean useProxy) {
+        List<Object> key = Arrays.<Object>asList(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
+        synchronized (SERVICES) {
+            HygieiaService service = SERVICES.get(key);
+            if (null == service) {
+                service = new DefaultHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
+                SERVICES.put(key, service);
+            }
+            return service;
+        }
+    }
+
+    /**
+     * Drops every service, called whenever the global configuration is loaded or changed.
+     */
+    public static void clear() {
+        synchronized (SERVICES) {
+            SERVICES.clear();
+        }
+    }
+}
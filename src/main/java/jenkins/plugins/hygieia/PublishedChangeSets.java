@@ -0,0 +1,147 @@
+package jenkins.plugins.hygieia;
+
+import com.capitalone.dashboard.model.SCM;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import hudson.XmlFile;
+import hudson.model.Job;
+import hudson.model.Run;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Remembers, for each Hygieia API endpoint, which commit revisions builds of a job have already published there and
+ * by which build, so that later builds of the job (a long running branch, a replay) only send the commits that are
+ * new to that endpoint. The build that first published a revision keeps sending it, as every publish of a build
+ * replaces its change set.
+ * <p>
+ * Kept in {@value #FILE_NAME} in the directory of the job rather than in its configuration, so publishing does not
+ * touch config.xml. Only the most recently published revisions of each endpoint are kept, see
+ * {@link #MAX_REVISIONS}.
+ */
+public class PublishedChangeSets {
+
+    private static final Logger logger = Logger.getLogger(PublishedChangeSets.class.getName());
+
+    static final String FILE_NAME = "hygieia-published-changesets.xml";
+
+    static final int MAX_REVISIONS = Integer.getInteger(PublishedChangeSets.class.getName() + ".maxRevisions", 10000);
+
+    // loaded once per job, dropped along with the job
+    private static final Cache<Job<?, ?>, PublishedChangeSets> LOADED = CacheBuilder.newBuilder().weakKeys().build();
+
+    // endpoint to revision to the number of the build that first published it there, oldest first
+    private final Map<String, LinkedHashMap<String, Integer>> revisions = new HashMap<>();
+
+    /**
+     * @return the commits of {@code run} that no other build of its job has published to {@code apiEndpoint} yet,
+     * in order
+     */
+    public static List<SCM> getUnpublished(Run<?, ?> run, String apiEndpoint, List<SCM> commits) {
+        Job<?, ?> job = run.getParent();
+        if (null == job || null == apiEndpoint) {
+            return commits;
+        }
+        return of(job).filter(apiEndpoint, run.getNumber(), commits);
+    }
+
+    /**
+     * Records that {@code commits} have been published to {@code apiEndpoint} by {@code run}.
+     */
+    public static void recordPublished(Run<?, ?> run, String apiEndpoint, List<SCM> commits) {
+        Job<?, ?> job = run.getParent();
+        if (null == job || null == apiEndpoint || null == commits || commits.isEmpty()) {
+            return;
+        }
+        PublishedChangeSets changeSets = of(job);
+        synchronized (changeSets) {
+            if (changeSets.record(apiEndpoint, run.getNumber(), commits)) {
+                try {
+                    getFile(job).write(changeSets);
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "Unable to save the published change sets of " + job.getFullName(), e);
+                }
+            }
+        }
+    }
+
+    private static PublishedChangeSets of(final Job<?, ?> job) {
+        try {
+            return LOADED.get(job, new Callable<PublishedChangeSets>() {
+                @Override
+                public PublishedChangeSets call() {
+                    return load(job);
+                }
+            });
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static PublishedChangeSets load(Job<?, ?> job) {
+        XmlFile file = getFile(job);
+        if (file.exists()) {
+            try {
+                return (PublishedChangeSets) file.read();
+            } catch (IOException | ClassCastException e) {
+                logger.log(Level.WARNING, "Unable to load the published change sets of " + job.getFullName(), e);
+            }
+        }
+        return new PublishedChangeSets();
+    }
+
+    private static XmlFile getFile(Job<?, ?> job) {
+        return new XmlFile(new File(job.getRootDir(), FILE_NAME));
+    }
+
+    synchronized List<SCM> filter(String apiEndpoint, int buildNumber, List<SCM> commits) {
+        Map<String, Integer> published = revisions.get(apiEndpoint);
+        if (null == published) {
+            return commits;
+        }
+        List<SCM> unpublished = new ArrayList<>();
+        for (SCM commit : commits) {
+            Integer publishedBy = published.get(commit.getScmRevisionNumber());
+            if (null == publishedBy || publishedBy == buildNumber) {
+                unpublished.add(commit);
+            }
+        }
+        return unpublished;
+    }
+
+    /**
+     * @return whether any revision was new to {@code apiEndpoint}
+     */
+    synchronized boolean record(String apiEndpoint, int buildNumber, List<SCM> commits) {
+        LinkedHashMap<String, Integer> published = revisions.get(apiEndpoint);
+        if (null == published) {
+            published = new LinkedHashMap<>();
+            revisions.put(apiEndpoint, published);
+        }
+        boolean changed = false;
+        for (SCM commit : commits) {
+            String revision = commit.getScmRevisionNumber();
+            if (null != revision && !published.containsKey(revision)) {
+                published.put(revision, buildNumber);
+                changed = true;
+            }
+        }
+        Iterator<String> oldest = published.keySet().iterator();
+        while (published.size() > MAX_REVISIONS && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+        }
+        return changed;
+    }
+}
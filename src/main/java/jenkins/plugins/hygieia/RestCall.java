@@ -2,7 +2,7 @@ package jenkins.plugins.hygieia;
 
 import com.capitalone.dashboard.util.CommonConstants;
 import hudson.ProxyConfiguration;
-import hygieia.utils.WildCardURL;
+import hygieia.utils.NoProxyHostMatcher;
 import jenkins.model.Jenkins;
 import org.apache.commons.httpclient.HttpClient;
 import org.apache.commons.httpclient.HttpException;
@@ -19,17 +19,19 @@ import org.jasypt.contrib.org.apache.commons.codec_1_3.binary.Base64;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
 
 
 public class RestCall {
     private static final Logger logger = Logger.getLogger(RestCall.class.getName());
     private static final String API_USER = "hygieia_publisher_plugin";
     private boolean useProxy;
+    // compiled from the no proxy hosts of Jenkins, again whenever they change
+    private static volatile NoProxyHostMatcher noProxyHosts;
 
     public RestCall(boolean useProxy) {
         this.useProxy = useProxy;
@@ -38,10 +40,17 @@ public class RestCall {
 //Fixme: Need refactoring to remove code duplication.
 
     protected HttpClient getHttpClient() {
+        return getHttpClient(null);
+    }
+
+    /**
+     * @param url the target of the call, reached without the proxy if its host is in the no proxy hosts of Jenkins
+     */
+    protected HttpClient getHttpClient(String url) {
         HttpClient client = new HttpClient();
         if (Jenkins.getInstance() != null) {
             ProxyConfiguration proxy = Jenkins.getInstance().proxy;
-            if (useProxy && (proxy != null)){
+            if (useProxy && (proxy != null) && !isDirect(proxy, url)){
                 client.getHostConfiguration().setProxy(proxy.name, proxy.port);
                 String username = proxy.getUserName();
                 String password = proxy.getPassword();
@@ -57,7 +66,7 @@ public class RestCall {
 
     public RestCallResponse makeRestCallGet(String url, String jenkinsUser, String token) {
         RestCallResponse response;
-        HttpClient client = getHttpClient();
+        HttpClient client = getHttpClient(url);
         GetMethod get = new GetMethod(url);
         try {
             get.getParams().setContentCharset("UTF-8");
@@ -83,17 +92,26 @@ public class RestCall {
     }
 
 
-    private boolean bypassProxy (String url, List<Pattern> bypassList)  {
-        for (Pattern bp: bypassList) {
-            WildCardURL wurl = new WildCardURL(bp.toString());
-            if (wurl.matches(url)) return true;
+    private static boolean isDirect(ProxyConfiguration proxy, String url) {
+        if (StringUtils.isBlank(url) || StringUtils.isBlank(proxy.noProxyHost)) {
+            return false;
+        }
+        NoProxyHostMatcher matcher = noProxyHosts;
+        if (null == matcher || !StringUtils.equals(matcher.getNoProxyHost(), proxy.noProxyHost)) {
+            matcher = NoProxyHostMatcher.compile(proxy.noProxyHost);
+            noProxyHosts = matcher;
+        }
+        try {
+            URL target = new URL(url);
+            return matcher.isDirect(target.getHost(), target.getPort() == -1 ? target.getDefaultPort() : target.getPort());
+        } catch (MalformedURLException e) {
+            return false;
         }
-        return false;
     }
 
     public RestCallResponse makeRestCallPost(String url, String jsonString) {
         RestCallResponse response;
-        HttpClient client = getHttpClient();
+        HttpClient client = getHttpClient(url);
         PostMethod post = new PostMethod(url);
         try {
             StringRequestEntity requestEntity = new StringRequestEntity(
@@ -116,7 +134,7 @@ public class RestCall {
 
     public RestCallResponse makeRestCallPost(String url, String jsonString, String clientReference) {
         RestCallResponse response;
-        HttpClient client = getHttpClient();
+        HttpClient client = getHttpClient(url);
         PostMethod post = new PostMethod(url);
         try {
             StringRequestEntity requestEntity = new StringRequestEntity(
@@ -140,7 +158,7 @@ public class RestCall {
 
     public RestCallResponse makeRestCallGet(String url) {
         RestCallResponse response;
-        HttpClient client = getHttpClient();
+        HttpClient client = getHttpClient(url);
         GetMethod get = new GetMethod(url);
         try {
             get.getParams().setContentCharset("UTF-8");
@@ -0,0 +1,177 @@
+package jenkins.plugins.hygieia.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hygieia.utils.AntGlob;
+import hygieia.utils.ArtifactFilesCallable;
+import hygieia.utils.FileFingerprints;
+import jenkins.MasterToSlaveFileCallable;
+import org.apache.tools.ant.DirectoryScanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Discovers the code quality reports on the node that holds the workspace. Each report comes back with its
+ * path, its format and its {@link CodeQualityPartialCache#key cache key}, the hash of its content. Nothing is
+ * parsed here: the controller looks the keys up in its cache and hands the reports it still needs to a
+ * {@link CodeQualityParseCallable}.
+ * <p>
+ * Hashing a report costs a small part of parsing it, and a report whose size and modification time are unchanged
+ * since the node last hashed or parsed it is not even read, see {@link #FINGERPRINTS}.
+ */
+public class CodeQualityCallable extends MasterToSlaveFileCallable<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final TypeReference<List<Result>> RESULTS = new TypeReference<List<Result>>() {
+    };
+
+    private static final int MAX_FINGERPRINTS = Integer.getInteger(CodeQualityCallable.class.getName() + ".maxFingerprints", 4096);
+
+    // per node, the reports hashed or parsed by this and CodeQualityParseCallable
+    static final FileFingerprints FINGERPRINTS = new FileFingerprints(MAX_FINGERPRINTS);
+
+    private final Map<CodeQualityReportType, String> filePatterns = new EnumMap<>(CodeQualityReportType.class);
+    private final TaskListener listener;
+
+    public CodeQualityCallable(TaskListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Formats are always looked up in {@link CodeQualityReportType} order; a {@code null} or empty pattern skips the format.
+     */
+    public CodeQualityCallable withFilePattern(CodeQualityReportType type, String filePattern) {
+        filePatterns.put(type, filePattern);
+        return this;
+    }
+
+    @Override
+    public String invoke(File rootDirectory, VirtualChannel channel) throws IOException, InterruptedException {
+        PrintStream logger = listener.getLogger();
+
+        // one walk of the workspace for the patterns of every format, each pattern is a comma separated list
+        // of Ant includes like FilePath.list takes, and like it leaving out Ant's default excludes
+        List<CodeQualityReportType> globTypes = new ArrayList<>();
+        List<AntGlob> globs = new ArrayList<>();
+        for (CodeQualityReportType type : CodeQualityReportType.values()) {
+            String pattern = filePatterns.get(type);
+            if (null != pattern && !pattern.isEmpty()) {
+                for (String include : pattern.split(",")) {
+                    if (!include.trim().isEmpty()) {
+                        globTypes.add(type);
+                        globs.add(AntGlob.compile("", include.trim(), false));
+                    }
+                }
+            }
+        }
+        List<AntGlob> excludes = new ArrayList<>();
+        for (String exclude : DirectoryScanner.getDefaultExcludes()) {
+            excludes.add(AntGlob.compile("", exclude, false));
+        }
+        List<List<String>> found = ArtifactFilesCallable.walk(rootDirectory.toPath(), globs, excludes);
+
+        List<Result> reports = new ArrayList<>();
+        for (CodeQualityReportType type : CodeQualityReportType.values()) {
+            String pattern = filePatterns.get(type);
+            if (null != pattern && !pattern.isEmpty()) {
+                Set<String> files = new TreeSet<>();
+                for (int i = 0; i < globs.size(); i++) {
+                    if (globTypes.get(i) == type) {
+                        for (String file : found.get(i)) {
+                            if (new File(file).isFile()) {
+                                files.add(file);
+                            }
+                        }
+                    }
+                }
+                logger.println(String.format("Analysing %d %s file(s)", files.size(), type.getDisplayName()));
+                for (String file : files) {
+                    reports.add(discovered(Paths.get(file), type));
+                }
+            } else {
+                logger.println(String.format("Skipping %s analysis", type.getDisplayName()));
+            }
+        }
+
+        return newObjectMapper().writeValueAsString(reports);
+    }
+
+    private static Result discovered(Path file, CodeQualityReportType type) throws IOException {
+        Result result = new Result();
+        result.setPath(file.toString());
+        result.setType(type);
+        result.setKey(CodeQualityPartialCache.key(type, FINGERPRINTS.checksum(file)));
+        return result;
+    }
+
+    /**
+     * Turns the value returned by {@link #invoke(File, VirtualChannel)} or by {@link CodeQualityParseCallable}
+     * back into report results on the controller.
+     */
+    public static List<Result> readResults(String json) throws IOException {
+        return newObjectMapper().readValue(json, RESULTS);
+    }
+
+    static ObjectMapper newObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return objectMapper;
+    }
+
+    /**
+     * One report: where it is, its format, its cache key and, once parsed, its metrics.
+     */
+    public static class Result {
+
+        private String path;
+        private CodeQualityReportType type;
+        private String key;
+        private CodeQualityPartial partial;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public CodeQualityReportType getType() {
+            return type;
+        }
+
+        public void setType(CodeQualityReportType type) {
+            this.type = type;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public CodeQualityPartial getPartial() {
+            return partial;
+        }
+
+        public void setPartial(CodeQualityPartial partial) {
+            this.partial = partial;
+        }
+    }
+}
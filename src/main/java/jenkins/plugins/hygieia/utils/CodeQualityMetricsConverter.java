@@ -9,6 +9,7 @@ import com.capitalone.dashboard.model.quality.*;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -21,11 +22,6 @@ public class CodeQualityMetricsConverter implements QualityVisitor<CodeQuality>
     private static final String TEST_ERRORS = "test_errors";
     private static final String TEST_SUCCESS_DENSITY = "test_success_density";
 
-    private static final String BLOCKER_VIOLATIONS = "blocker_violations";
-    private static final String CRITICAL_VIOLATIONS = "critical_violations";
-    private static final String MAJOR_VIOLCATIONS = "major_violations";
-    private static final String VIOLATIONS = "violations";
-
     private static final String COVERAGE = "coverage";
     private static final String LINE_COVERAGE = "line_coverage";
     private static final String TOTAL_LINES_COVERED = "total_lines_covered";
@@ -35,6 +31,10 @@ public class CodeQualityMetricsConverter implements QualityVisitor<CodeQuality>
 
     private final CodeQuality quality = new CodeQuality();
 
+    // violations are tallied here and only turned into metrics by produceResult
+    private final int[] violations = new int[ViolationSeverity.values().length];
+    private boolean violationsVisited;
+
     public CodeQualityMetricsConverter() {
         quality.setType(CodeQualityType.StaticAnalysis);
     }
@@ -93,37 +93,25 @@ public class CodeQualityMetricsConverter implements QualityVisitor<CodeQuality>
 
     @Override
     public void visit(FindBugsXmlReport findBugReport) {
-        Map<String, Pair<Integer, CodeQualityMetricStatus>> metricsMap = createEmptyViolationsMap();
+        violationsVisited = true;
 
         // loop over all the stuff in the report and accumulate violations.
         if (null != findBugReport.getFiles()) {
             for (FindBugsXmlReport.BugFile bugFile : findBugReport.getFiles()) {
                 for (FindBugsXmlReport.BugInstance bugInstance : bugFile.getBugCollection()) {
                     switch (bugInstance.getPriority()) {
-                        case Blocker: {
-                            final Pair<Integer, CodeQualityMetricStatus> metricStatusPair = metricsMap.get(BLOCKER_VIOLATIONS);
-                            final Pair newPair = Pair.of(metricStatusPair.getLeft().intValue() + 1, CodeQualityMetricStatus.Alert);
-                            metricsMap.put(BLOCKER_VIOLATIONS, newPair);
+                        case Blocker:
+                            violations[ViolationSeverity.BLOCKER.ordinal()]++;
                             break;
-                        }
-                        case Critical: {
-                            final Pair<Integer, CodeQualityMetricStatus> metricStatusPair = metricsMap.get(CRITICAL_VIOLATIONS);
-                            final Pair newPair = Pair.of(metricStatusPair.getLeft().intValue() + 1, CodeQualityMetricStatus.Alert);
-                            metricsMap.put(CRITICAL_VIOLATIONS, newPair);
+                        case Critical:
+                            violations[ViolationSeverity.CRITICAL.ordinal()]++;
                             break;
-                        }
-                        case Normal: {
-                            final Pair<Integer, CodeQualityMetricStatus> metricStatusPair = metricsMap.get(MAJOR_VIOLCATIONS);
-                            final Pair newPair = Pair.of(metricStatusPair.getLeft().intValue() + 1, CodeQualityMetricStatus.Warning);
-                            metricsMap.put(MAJOR_VIOLCATIONS, newPair);
+                        case Normal:
+                            violations[ViolationSeverity.MAJOR.ordinal()]++;
                             break;
-                        }
-                        case Low: {
-                            final Pair<Integer, CodeQualityMetricStatus> metricStatusPair = metricsMap.get(VIOLATIONS);
-                            final Pair newPair = Pair.of(metricStatusPair.getLeft().intValue() + 1, CodeQualityMetricStatus.Warning);
-                            metricsMap.put(VIOLATIONS, newPair);
+                        case Low:
+                            violations[ViolationSeverity.MINOR.ordinal()]++;
                             break;
-                        }
                         default:
                             // not recognised. ignore
                             break;
@@ -131,10 +119,6 @@ public class CodeQualityMetricsConverter implements QualityVisitor<CodeQuality>
                 }
             }
         }
-
-
-        // finally produce the result
-        this.sumMetrics(metricsMap);
     }
 
     public void sumMetrics(Map<String, Pair<Integer, CodeQualityMetricStatus>> metricsMap) {
@@ -197,6 +181,10 @@ public class CodeQualityMetricsConverter implements QualityVisitor<CodeQuality>
         }
         this.sumMetrics(metricsMap);
         // now add in the missing one
+        this.computeCoverage();
+    }
+
+    private void computeCoverage() {
         Map<String, CodeQualityMetric> codeQualityMetricMap = new HashMap<>();
         for (CodeQualityMetric metric : quality.getMetrics()) {
             codeQualityMetricMap.put(metric.getName(), metric);
@@ -213,8 +201,44 @@ public class CodeQualityMetricsConverter implements QualityVisitor<CodeQuality>
                 computeCoveragePercent(COVERAGE,
                         codeQualityMetricMap.get(TOTAL_INSTRUCTIONS_COVERED),
                         codeQualityMetricMap.get(TOTAL_INSTRUCTIONS_MISSED)));
+    }
 
+    /**
+     * Folds a partial converter, fed with other reports, into this one. Counts are summed, statuses keep
+     * the worst of the two and coverage is worked out again from the summed totals, so the order in which
+     * partials are merged does not change the result.
+     */
+    public CodeQualityMetricsConverter merge(CodeQualityMetricsConverter partial) {
+        this.merge(partial.quality);
+        if (partial.violationsVisited) {
+            violationsVisited = true;
+            for (ViolationSeverity severity : ViolationSeverity.values()) {
+                violations[severity.ordinal()] += partial.violations[severity.ordinal()];
+            }
+        }
+        return this;
+    }
 
+    /**
+     * Folds the {@link #produceResult() result} of another converter into this one, for partials that were
+     * produced elsewhere, e.g. kept from an earlier build.
+     */
+    public CodeQualityMetricsConverter merge(CodeQuality partialResult) {
+        Map<String, Pair<Integer, CodeQualityMetricStatus>> metricsMap = new HashMap<>();
+        boolean hasCoverage = false;
+        for (CodeQualityMetric metric : partialResult.getMetrics()) {
+            if (LINE_COVERAGE.equals(metric.getName()) || COVERAGE.equals(metric.getName())) {
+                hasCoverage = true;
+            } else {
+                metricsMap.put(metric.getName(), Pair.of(Integer.parseInt(metric.getValue()), metric.getStatus()));
+            }
+        }
+        this.sumMetrics(metricsMap);
+        if (hasCoverage) {
+            this.computeCoverage();
+        }
+        quality.setTimestamp(Math.max(quality.getTimestamp(), partialResult.getTimestamp()));
+        return this;
     }
 
     @Override
@@ -243,7 +267,7 @@ public class CodeQualityMetricsConverter implements QualityVisitor<CodeQuality>
 
     @Override
     public void visit(PmdReport pmdReport) {
-        Map<String, Pair<Integer, CodeQualityMetricStatus>> metricsMap = createEmptyViolationsMap();
+        violationsVisited = true;
 
         // loop over all the stuff in the report and accumulate violations.
         if (null != pmdReport.getFiles()) {
@@ -251,42 +275,28 @@ public class CodeQualityMetricsConverter implements QualityVisitor<CodeQuality>
                 if (null != violationFile && null != violationFile.getViolations()) {
                     for (PmdReport.PmdViolation violation : violationFile.getViolations()) {
                         switch (violation.getPriority()) {
-                            case 1: {
-                                final Pair<Integer, CodeQualityMetricStatus> metricStatusPair = metricsMap.get(BLOCKER_VIOLATIONS);
-                                final Pair newPair = Pair.of(metricStatusPair.getLeft().intValue() + 1, CodeQualityMetricStatus.Alert);
-                                metricsMap.put(BLOCKER_VIOLATIONS, newPair);
+                            case 1:
+                                violations[ViolationSeverity.BLOCKER.ordinal()]++;
                                 break;
-                            }
-                            case 2: {
-                                final Pair<Integer, CodeQualityMetricStatus> metricStatusPair = metricsMap.get(CRITICAL_VIOLATIONS);
-                                final Pair newPair = Pair.of(metricStatusPair.getLeft().intValue() + 1, CodeQualityMetricStatus.Alert);
-                                metricsMap.put(CRITICAL_VIOLATIONS, newPair);
+                            case 2:
+                                violations[ViolationSeverity.CRITICAL.ordinal()]++;
                                 break;
-                            }
-                            case 3: {
-                                final Pair<Integer, CodeQualityMetricStatus> metricStatusPair = metricsMap.get(MAJOR_VIOLCATIONS);
-                                final Pair newPair = Pair.of(metricStatusPair.getLeft().intValue() + 1, CodeQualityMetricStatus.Warning);
-                                metricsMap.put(MAJOR_VIOLCATIONS, newPair);
+                            case 3:
+                                violations[ViolationSeverity.MAJOR.ordinal()]++;
                                 break;
-                            }
                             default:
-                                final Pair<Integer, CodeQualityMetricStatus> metricStatusPair = metricsMap.get(VIOLATIONS);
-                                final Pair newPair = Pair.of(metricStatusPair.getLeft().intValue() + 1, CodeQualityMetricStatus.Warning);
-                                metricsMap.put(VIOLATIONS, newPair);
+                                violations[ViolationSeverity.MINOR.ordinal()]++;
                                 break;
                         }
                     }
                 }
             }
         }
-
-        // finally produce the result
-        this.sumMetrics(metricsMap);
     }
 
     @Override
     public void visit(CheckstyleReport checkstyleReport) {
-        Map<String, Pair<Integer, CodeQualityMetricStatus>> metricsMap = createEmptyViolationsMap();
+        violationsVisited = true;
 
         // loop over all the stuff in the report and accumulate violations.
         if (null != checkstyleReport.getFiles()) {
@@ -294,52 +304,50 @@ public class CodeQualityMetricsConverter implements QualityVisitor<CodeQuality>
                 if (null != violationFile && null != violationFile.getErrors()) {
                     for (CheckstyleReport.CheckstyleError violation : violationFile.getErrors()) {
                         switch (violation.getSeverity()) {
-                            case error: {
-                                final Pair<Integer, CodeQualityMetricStatus> metricStatusPair = metricsMap.get(BLOCKER_VIOLATIONS);
-                                final Pair newPair = Pair.of(metricStatusPair.getLeft().intValue() + 1, CodeQualityMetricStatus.Alert);
-                                metricsMap.put(BLOCKER_VIOLATIONS, newPair);
+                            case error:
+                                violations[ViolationSeverity.BLOCKER.ordinal()]++;
                                 break;
-                            }
-                            case warning: {
-                                final Pair<Integer, CodeQualityMetricStatus> metricStatusPair = metricsMap.get(CRITICAL_VIOLATIONS);
-                                final Pair newPair = Pair.of(metricStatusPair.getLeft().intValue() + 1, CodeQualityMetricStatus.Alert);
-                                metricsMap.put(CRITICAL_VIOLATIONS, newPair);
+                            case warning:
+                                violations[ViolationSeverity.CRITICAL.ordinal()]++;
                                 break;
-                            }
-                            case info: {
-                                final Pair<Integer, CodeQualityMetricStatus> metricStatusPair = metricsMap.get(MAJOR_VIOLCATIONS);
-                                final Pair newPair = Pair.of(metricStatusPair.getLeft().intValue() + 1, CodeQualityMetricStatus.Warning);
-                                metricsMap.put(MAJOR_VIOLCATIONS, newPair);
+                            case info:
+                                violations[ViolationSeverity.MAJOR.ordinal()]++;
                                 break;
-                            }
                             default:
-                                final Pair<Integer, CodeQualityMetricStatus> metricStatusPair = metricsMap.get(VIOLATIONS);
-                                final Pair newPair = Pair.of(metricStatusPair.getLeft().intValue() + 1, CodeQualityMetricStatus.Warning);
-                                metricsMap.put(VIOLATIONS, newPair);
+                                violations[ViolationSeverity.MINOR.ordinal()]++;
                                 break;
                         }
                     }
                 }
             }
         }
+    }
 
-        // finally produce the result
-        this.sumMetrics(metricsMap);
+    /**
+     * Adds violation tallies counted straight from a report stream, see {@link ViolationCounter}.
+     */
+    public void sumViolations(Map<ViolationSeverity, Integer> counts) {
+        violationsVisited = true;
+        for (Map.Entry<ViolationSeverity, Integer> count : counts.entrySet()) {
+            violations[count.getKey().ordinal()] += count.getValue();
+        }
     }
 
     @Override
     public CodeQuality produceResult() {
+        if (violationsVisited) {
+            Map<String, Pair<Integer, CodeQualityMetricStatus>> metricsMap = new HashMap<>();
+            for (ViolationSeverity severity : ViolationSeverity.values()) {
+                int count = violations[severity.ordinal()];
+                metricsMap.put(severity.getMetricName(), Pair.of(count, count > 0 ? severity.getStatus() : CodeQualityMetricStatus.Ok));
+            }
+            this.sumMetrics(metricsMap);
+            // materialized now, so a second call does not add them again
+            violationsVisited = false;
+            Arrays.fill(violations, 0);
+        }
         return quality;
     }
 
-    private Map<String, Pair<Integer, CodeQualityMetricStatus>> createEmptyViolationsMap() {
-        Map<String, Pair<Integer, CodeQualityMetricStatus>> metricsMap = new HashMap<>();
-        metricsMap.put(BLOCKER_VIOLATIONS, Pair.of(0, CodeQualityMetricStatus.Ok));
-        metricsMap.put(CRITICAL_VIOLATIONS, Pair.of(0, CodeQualityMetricStatus.Ok));
-        metricsMap.put(MAJOR_VIOLCATIONS, Pair.of(0, CodeQualityMetricStatus.Ok));
-        metricsMap.put(VIOLATIONS, Pair.of(0, CodeQualityMetricStatus.Ok));
-        return metricsMap;
-    }
-
 
 }
@@ -0,0 +1,128 @@
+package jenkins.plugins.hygieia.utils;
+
+import hudson.Util;
+import hudson.remoting.VirtualChannel;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.MasterToSlaveFileCallable;
+import org.apache.commons.io.input.CloseShieldInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parses the code quality reports the controller has no cached metrics for, on the node that holds them. Only
+ * the metrics of each report (as JSON) are sent back over the remoting channel, so the cost on the controller
+ * does not depend on the size of the reports.
+ * <p>
+ * Each report is read once: the parser reads through a {@link DigestInputStream}, so the report comes back with
+ * the {@link CodeQualityPartialCache#key cache key} of the bytes it was parsed from, and the node remembers the
+ * digest for the next {@link CodeQualityCallable}.
+ */
+public class CodeQualityParseCallable extends MasterToSlaveFileCallable<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final int parallelism;
+    private final List<String> paths = new ArrayList<>();
+    private final List<CodeQualityReportType> types = new ArrayList<>();
+
+    /**
+     * @param reports reports as discovered by {@link CodeQualityCallable}
+     */
+    public CodeQualityParseCallable(int parallelism, List<CodeQualityCallable.Result> reports) {
+        this.parallelism = parallelism;
+        for (CodeQualityCallable.Result report : reports) {
+            paths.add(report.getPath());
+            types.add(report.getType());
+        }
+    }
+
+    /**
+     * Every report, whatever its format, is parsed into its own partial converter on a bounded pool. The results
+     * keep the order of the reports so the output is stable.
+     */
+    @Override
+    public String invoke(File rootDirectory, VirtualChannel channel) throws IOException, InterruptedException {
+        List<CodeQualityCallable.Result> results = new ArrayList<>();
+        if (paths.isEmpty()) {
+            return CodeQualityCallable.newObjectMapper().writeValueAsString(results);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(paths.size(), parallelism)),
+                new NamingThreadFactory(new DaemonThreadFactory(), "Hygieia code quality parser"));
+        try {
+            List<Future<CodeQualityCallable.Result>> partials = new ArrayList<>();
+            for (int i = 0; i < paths.size(); i++) {
+                final Path file = Paths.get(paths.get(i));
+                final CodeQualityReportType type = types.get(i);
+                partials.add(executor.submit(new Callable<CodeQualityCallable.Result>() {
+                    @Override
+                    public CodeQualityCallable.Result call() throws Exception {
+                        return parse(file, type);
+                    }
+                }));
+            }
+            for (Future<CodeQualityCallable.Result> partial : partials) {
+                try {
+                    results.add(partial.get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    } else if (cause instanceof InterruptedException) {
+                        throw (InterruptedException) cause;
+                    }
+                    throw new IOException("Unable to analyse code quality reports", cause);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return CodeQualityCallable.newObjectMapper().writeValueAsString(results);
+    }
+
+    static CodeQualityCallable.Result parse(Path file, CodeQualityReportType type) throws Exception {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        BasicFileAttributes before = Files.readAttributes(file, BasicFileAttributes.class);
+        CodeQualityMetricsConverter partial = new CodeQualityMetricsConverter();
+        try (DigestInputStream in = new DigestInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE), digest)) {
+            type.analyse(new CloseShieldInputStream(in), partial);
+            // parsers may stop at the end of the root element, the rest of the file is still part of its hash
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (in.read(buffer) != -1) {
+                // digested as it is read
+            }
+        }
+        String sha256 = Util.toHexString(digest.digest());
+        CodeQualityCallable.FINGERPRINTS.remember(file, before, sha256);
+
+        CodeQualityCallable.Result result = new CodeQualityCallable.Result();
+        result.setPath(file.toString());
+        result.setType(type);
+        result.setKey(CodeQualityPartialCache.key(type, sha256));
+        result.setPartial(CodeQualityPartial.of(partial.produceResult()));
+        return result;
+    }
+}
@@ -0,0 +1,51 @@
+package jenkins.plugins.hygieia.utils;
+
+import com.capitalone.dashboard.model.CodeQuality;
+import com.capitalone.dashboard.model.CodeQualityMetric;
+import com.capitalone.dashboard.model.CodeQualityType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The metrics a {@link CodeQualityMetricsConverter} produced for a single report, in a shape that can be
+ * sent over the remoting channel and written to the {@link CodeQualityPartialCache} as JSON.
+ */
+public class CodeQualityPartial {
+
+    private long timestamp;
+    private List<CodeQualityMetric> metrics = new ArrayList<>();
+
+    public static CodeQualityPartial of(CodeQuality quality) {
+        CodeQualityPartial partial = new CodeQualityPartial();
+        partial.setTimestamp(quality.getTimestamp());
+        partial.getMetrics().addAll(quality.getMetrics());
+        return partial;
+    }
+
+    public CodeQuality toCodeQuality() {
+        CodeQuality quality = new CodeQuality();
+        quality.setType(CodeQualityType.StaticAnalysis);
+        quality.setTimestamp(timestamp);
+        for (CodeQualityMetric metric : metrics) {
+            quality.addMetric(metric);
+        }
+        return quality;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public List<CodeQualityMetric> getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(List<CodeQualityMetric> metrics) {
+        this.metrics = metrics;
+    }
+}
@@ -0,0 +1,180 @@
+package jenkins.plugins.hygieia.utils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jenkins.model.Jenkins;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * A bounded on-disk cache of {@link CodeQualityPartial}s keyed by report format and content hash, so a
+ * report that did not change since an earlier build is not parsed again.
+ * <p>
+ * Every entry is one small JSON file. Entries are evicted least recently used first once their total size
+ * goes over the cap; the modification time of a file records its last use so the order survives a restart.
+ */
+public class CodeQualityPartialCache {
+
+    private static final Logger logger = Logger.getLogger(CodeQualityPartialCache.class.getName());
+
+    public static final long DEFAULT_MAX_BYTES = 4L * 1024 * 1024;
+
+    // a cap of 0 turns the cache off
+    private static final long MAX_BYTES = Long.getLong(CodeQualityPartialCache.class.getName() + ".maxBytes", DEFAULT_MAX_BYTES);
+
+    // bump when the converter starts producing different partials for the same report
+    private static final String DIRECTORY = "hygieia/code-quality-cache/v1";
+
+    private static final String SUFFIX = ".json";
+
+    // keys come from the agent, so they must never be able to name a file outside the cache directory
+    private static final Pattern KEY = Pattern.compile("[a-z]+-[0-9a-f]{64}");
+
+    private static CodeQualityPartialCache instance;
+
+    private final File directory;
+    private final long maxBytes;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // key to file size, least recently used first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * @return the cache under JENKINS_HOME, or {@code null} outside of Jenkins or when it is turned off
+     */
+    public static synchronized CodeQualityPartialCache getInstance() {
+        if (null == instance) {
+            Jenkins jenkins = Jenkins.getInstance();
+            if (null == jenkins || MAX_BYTES <= 0) {
+                return null;
+            }
+            instance = new CodeQualityPartialCache(new File(jenkins.getRootDir(), DIRECTORY), MAX_BYTES);
+        }
+        return instance;
+    }
+
+    public CodeQualityPartialCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        load();
+    }
+
+    /**
+     * The cache key of a report, see {@link CodeQualityCallable}.
+     */
+    public static String key(CodeQualityReportType type, String sha256) {
+        return type.name().toLowerCase(Locale.ENGLISH) + "-" + sha256;
+    }
+
+    public synchronized CodeQualityPartial get(String key) {
+        // a lookup is a use, it moves the key to the most recently used end
+        if (null == entries.get(key)) {
+            return null;
+        }
+        File file = file(key);
+        try {
+            CodeQualityPartial partial = objectMapper.readValue(file, CodeQualityPartial.class);
+            if (!file.setLastModified(System.currentTimeMillis())) {
+                logger.fine("Unable to record use of " + file);
+            }
+            return partial;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Dropping unreadable code quality cache entry " + file, e);
+            remove(key);
+            return null;
+        }
+    }
+
+    public synchronized void put(String key, CodeQualityPartial partial) {
+        if (!KEY.matcher(key).matches()) {
+            logger.warning("Ignoring code quality cache key " + key);
+            return;
+        }
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(partial);
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Unable to create " + directory);
+            }
+            File temp = File.createTempFile(key, ".tmp", directory);
+            try {
+                Files.write(temp.toPath(), bytes);
+                Files.move(temp.toPath(), file(key).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+
+            Long previous = entries.put(key, (long) bytes.length);
+            totalBytes += bytes.length - (null == previous ? 0 : previous);
+            evict();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to write code quality cache entry " + key, e);
+        }
+    }
+
+    private void load() {
+        File[] files = directory.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.isFile() && file.getName().endsWith(SUFFIX)
+                        && KEY.matcher(file.getName().substring(0, file.getName().length() - SUFFIX.length())).matches();
+            }
+        });
+        if (null == files) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File o1, File o2) {
+                return Long.compare(o1.lastModified(), o2.lastModified());
+            }
+        });
+        for (File file : files) {
+            entries.put(file.getName().substring(0, file.getName().length() - SUFFIX.length()), file.length());
+            totalBytes += file.length();
+        }
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            totalBytes -= entry.getValue();
+            eldest.remove();
+            delete(entry.getKey());
+        }
+    }
+
+    private void remove(String key) {
+        Long size = entries.remove(key);
+        if (null != size) {
+            totalBytes -= size;
+        }
+        delete(key);
+    }
+
+    private void delete(String key) {
+        File file = file(key);
+        if (file.exists() && !file.delete()) {
+            logger.fine("Unable to delete " + file);
+        }
+    }
+
+    private File file(String key) {
+        return new File(directory, key + SUFFIX);
+    }
+}
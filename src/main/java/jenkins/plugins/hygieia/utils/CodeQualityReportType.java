@@ -0,0 +1,63 @@
+package jenkins.plugins.hygieia.utils;
+
+import com.capitalone.dashboard.model.quality.JacocoXmlReport;
+import com.capitalone.dashboard.model.quality.JunitXmlReport;
+import org.xml.sax.SAXException;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import java.io.InputStream;
+
+/**
+ * The report formats the code quality step understands, each knowing how to feed one file into a
+ * {@link CodeQualityMetricsConverter}.
+ */
+public enum CodeQualityReportType {
+
+    JUNIT("junit") {
+        @Override
+        public void analyse(InputStream report, CodeQualityMetricsConverter converter) throws JAXBException, SAXException, ParserConfigurationException {
+            JunitXmlReport junitReport = QualityReportUnmarshaller.unmarshall(report);
+            junitReport.accept(converter);
+        }
+    },
+    PMD("pmd") {
+        @Override
+        public void analyse(InputStream report, CodeQualityMetricsConverter converter) throws XMLStreamException {
+            converter.sumViolations(ViolationCounter.count(report, ViolationCounter.Format.PMD));
+        }
+    },
+    FINDBUGS("findbugs") {
+        @Override
+        public void analyse(InputStream report, CodeQualityMetricsConverter converter) throws XMLStreamException {
+            converter.sumViolations(ViolationCounter.count(report, ViolationCounter.Format.FINDBUGS));
+        }
+    },
+    CHECKSTYLE("checkstyle") {
+        @Override
+        public void analyse(InputStream report, CodeQualityMetricsConverter converter) throws XMLStreamException {
+            converter.sumViolations(ViolationCounter.count(report, ViolationCounter.Format.CHECKSTYLE));
+        }
+    },
+    JACOCO("jacoco") {
+        @Override
+        public void analyse(InputStream report, CodeQualityMetricsConverter converter) throws JAXBException, SAXException, ParserConfigurationException {
+            JacocoXmlReport jacocoReport = QualityReportUnmarshaller.unmarshall(report);
+            jacocoReport.accept(converter);
+        }
+    };
+
+    private final String displayName;
+
+    CodeQualityReportType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public abstract void analyse(InputStream report, CodeQualityMetricsConverter converter)
+            throws JAXBException, SAXException, ParserConfigurationException, XMLStreamException;
+}
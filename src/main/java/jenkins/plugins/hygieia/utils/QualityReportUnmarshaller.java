@@ -0,0 +1,95 @@
+package jenkins.plugins.hygieia.utils;
+
+import com.capitalone.dashboard.model.quality.CheckstyleReport;
+import com.capitalone.dashboard.model.quality.FindBugsXmlReport;
+import com.capitalone.dashboard.model.quality.JacocoXmlReport;
+import com.capitalone.dashboard.model.quality.JunitXmlReport;
+import com.capitalone.dashboard.model.quality.PmdReport;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.XMLConstants;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.sax.SAXSource;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Unmarshalls the code quality reports (junit, jacoco, findbugs, checkstyle, pmd) with one shared
+ * {@link JAXBContext} and a single hardened parser configuration.
+ * <p>
+ * The context is built the first time a report is read, not when a step is instantiated. Neither
+ * {@link Unmarshaller} nor {@link XMLReader} is thread safe, so both are borrowed from small pools for
+ * the duration of one file and handed back afterwards.
+ */
+public final class QualityReportUnmarshaller {
+
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private static final SAXParserFactory PARSER_FACTORY = newParserFactory();
+    private static final BlockingQueue<Unmarshaller> UNMARSHALLERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final BlockingQueue<XMLReader> XML_READERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private static volatile JAXBContext context;
+
+    private QualityReportUnmarshaller() {
+    }
+
+    public static JAXBContext getContext() throws JAXBException {
+        JAXBContext result = context;
+        if (result == null) {
+            synchronized (QualityReportUnmarshaller.class) {
+                result = context;
+                if (result == null) {
+                    result = JAXBContext.newInstance(JunitXmlReport.class, JacocoXmlReport.class,
+                            FindBugsXmlReport.class, CheckstyleReport.class, PmdReport.class);
+                    context = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T unmarshall(InputStream in) throws JAXBException, SAXException, ParserConfigurationException {
+        Unmarshaller unmarshaller = UNMARSHALLERS.poll();
+        if (unmarshaller == null) {
+            unmarshaller = getContext().createUnmarshaller();
+        }
+        XMLReader xmlReader = XML_READERS.poll();
+        if (xmlReader == null) {
+            xmlReader = PARSER_FACTORY.newSAXParser().getXMLReader();
+        }
+        try {
+            return (T) unmarshaller.unmarshal(new SAXSource(xmlReader, new InputSource(in)));
+        } finally {
+            // a full pool just lets the extra instance go
+            UNMARSHALLERS.offer(unmarshaller);
+            XML_READERS.offer(xmlReader);
+        }
+    }
+
+    /**
+     * Report files come from the workspace, so DTDs and external entities are never fetched or expanded.
+     */
+    private static SAXParserFactory newParserFactory() {
+        // left namespace unaware on purpose: report namespaces (pmd, checkstyle) are not part of the bound model
+        SAXParserFactory spf = SAXParserFactory.newInstance();
+        try {
+            spf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            spf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            spf.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            spf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            spf.setFeature("http://xml.org/sax/features/validation", false);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("Unable to configure the report parser", e);
+        }
+        return spf;
+    }
+}
@@ -0,0 +1,168 @@
+package jenkins.plugins.hygieia.utils;
+
+import com.capitalone.dashboard.model.quality.CheckstyleReport;
+import com.capitalone.dashboard.model.quality.FindBugsXmlReport;
+
+import javax.xml.bind.annotation.XmlEnumValue;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the violations in a PMD, Checkstyle or FindBugs report by streaming it with StAX, so that a
+ * report of any size is read in constant memory and no JAXB object tree is built.
+ * <p>
+ * Only the {@code file} elements directly under the root and the violation elements directly under
+ * those are looked at, which is the same part of the document the JAXB models bind. Severities are
+ * bucketed into the same {@link ViolationSeverity} as {@link CodeQualityMetricsConverter} uses for the
+ * unmarshalled reports.
+ */
+public final class ViolationCounter {
+
+    private static final String FILE = "file";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = newXmlInputFactory();
+
+    public enum Format {
+        PMD("violation", "priority") {
+            @Override
+            ViolationSeverity bucket(String priority) {
+                try {
+                    switch (Integer.parseInt(priority.trim())) {
+                        case 1:
+                            return ViolationSeverity.BLOCKER;
+                        case 2:
+                            return ViolationSeverity.CRITICAL;
+                        case 3:
+                            return ViolationSeverity.MAJOR;
+                        default:
+                            return ViolationSeverity.MINOR;
+                    }
+                } catch (NumberFormatException e) {
+                    return ViolationSeverity.MINOR;
+                }
+            }
+        },
+        CHECKSTYLE("error", "severity") {
+            private final Map<String, String> severities = enumConstantsByXmlValue(CheckstyleReport.CheckstyleError.class, "getSeverity");
+
+            @Override
+            ViolationSeverity bucket(String severity) {
+                String constant = severities.get(severity);
+                if ("error".equals(constant)) {
+                    return ViolationSeverity.BLOCKER;
+                } else if ("warning".equals(constant)) {
+                    return ViolationSeverity.CRITICAL;
+                } else if ("info".equals(constant)) {
+                    return ViolationSeverity.MAJOR;
+                }
+                return ViolationSeverity.MINOR;
+            }
+        },
+        FINDBUGS("BugInstance", "priority") {
+            private final Map<String, String> priorities = enumConstantsByXmlValue(FindBugsXmlReport.BugInstance.class, "getPriority");
+
+            @Override
+            ViolationSeverity bucket(String priority) {
+                String constant = priorities.get(priority);
+                if ("Blocker".equals(constant)) {
+                    return ViolationSeverity.BLOCKER;
+                } else if ("Critical".equals(constant)) {
+                    return ViolationSeverity.CRITICAL;
+                } else if ("Normal".equals(constant)) {
+                    return ViolationSeverity.MAJOR;
+                } else if ("Low".equals(constant)) {
+                    return ViolationSeverity.MINOR;
+                }
+                // not recognised. ignore
+                return null;
+            }
+        };
+
+        private final String violationElement;
+        private final String severityAttribute;
+
+        Format(String violationElement, String severityAttribute) {
+            this.violationElement = violationElement;
+            this.severityAttribute = severityAttribute;
+        }
+
+        /**
+         * @return the bucket a violation of {@code severity} is counted in, {@code null} if it is not counted
+         */
+        abstract ViolationSeverity bucket(String severity);
+    }
+
+    private ViolationCounter() {
+    }
+
+    /**
+     * @return the number of violations of every {@link ViolationSeverity}, zero included
+     */
+    public static Map<ViolationSeverity, Integer> count(InputStream report, Format format) throws XMLStreamException {
+        int[] counts = new int[ViolationSeverity.values().length];
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(report);
+        try {
+            int depth = 0;
+            boolean inFile = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (depth == 2) {
+                        inFile = FILE.equals(reader.getLocalName());
+                    } else if (depth == 3 && inFile && format.violationElement.equals(reader.getLocalName())) {
+                        String severity = reader.getAttributeValue(null, format.severityAttribute);
+                        ViolationSeverity bucket = format.bucket(severity == null ? "" : severity);
+                        if (bucket != null) {
+                            counts[bucket.ordinal()]++;
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        Map<ViolationSeverity, Integer> tallies = new EnumMap<>(ViolationSeverity.class);
+        for (ViolationSeverity bucket : ViolationSeverity.values()) {
+            tallies.put(bucket, counts[bucket.ordinal()]);
+        }
+        return tallies;
+    }
+
+    /**
+     * Maps the attribute values JAXB accepts for an enum property to the names of the enum constants, so
+     * that the streamed severities are read exactly as the bound model would read them.
+     */
+    private static Map<String, String> enumConstantsByXmlValue(Class<?> owner, String getter) {
+        Map<String, String> constants = new HashMap<>();
+        try {
+            Class<?> type = owner.getMethod(getter).getReturnType();
+            for (Field field : type.getFields()) {
+                if (field.isEnumConstant()) {
+                    XmlEnumValue xmlValue = field.getAnnotation(XmlEnumValue.class);
+                    constants.put(xmlValue == null ? field.getName() : xmlValue.value(), field.getName());
+                }
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Unexpected report model " + owner.getName(), e);
+        }
+        return constants;
+    }
+
+    private static XMLInputFactory newXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        return factory;
+    }
+}
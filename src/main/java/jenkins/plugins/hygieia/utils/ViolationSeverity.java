@@ -0,0 +1,32 @@
+package jenkins.plugins.hygieia.utils;
+
+import com.capitalone.dashboard.model.CodeQualityMetricStatus;
+
+/**
+ * The buckets static analysis violations are counted in, whether they are read from an unmarshalled report by
+ * {@link CodeQualityMetricsConverter} or streamed by {@link ViolationCounter}. Each carries the metric it is
+ * reported as and the status that metric gets once it is non-zero.
+ */
+public enum ViolationSeverity {
+
+    BLOCKER("blocker_violations", CodeQualityMetricStatus.Alert),
+    CRITICAL("critical_violations", CodeQualityMetricStatus.Alert),
+    MAJOR("major_violations", CodeQualityMetricStatus.Warning),
+    MINOR("violations", CodeQualityMetricStatus.Warning);
+
+    private final String metricName;
+    private final CodeQualityMetricStatus status;
+
+    ViolationSeverity(String metricName, CodeQualityMetricStatus status) {
+        this.metricName = metricName;
+        this.status = status;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public CodeQualityMetricStatus getStatus() {
+        return status;
+    }
+}
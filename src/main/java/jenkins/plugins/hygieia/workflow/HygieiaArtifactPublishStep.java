@@ -3,6 +3,7 @@ package jenkins.plugins.hygieia.workflow;
 import com.capitalone.dashboard.model.BuildStage;
 import com.capitalone.dashboard.model.BuildStatus;
 import com.capitalone.dashboard.request.BinaryArtifactCreateRequest;
+import com.capitalone.dashboard.request.BuildDataCreateRequest;
 import hudson.Extension;
 import hudson.FilePath;
 import hudson.model.Run;
@@ -12,10 +13,11 @@ import hygieia.builder.ArtifactBuilder;
 import hygieia.builder.BuildBuilder;
 import hygieia.utils.HygieiaUtils;
 import jenkins.model.Jenkins;
-import jenkins.plugins.hygieia.DefaultHygieiaService;
 import jenkins.plugins.hygieia.HygieiaPublisher;
 import jenkins.plugins.hygieia.HygieiaResponse;
 import jenkins.plugins.hygieia.HygieiaService;
+import jenkins.plugins.hygieia.HygieiaServiceRegistry;
+import jenkins.plugins.hygieia.PublishedChangeSets;
 import org.apache.commons.httpclient.HttpStatus;
 import org.jenkinsci.plugins.workflow.steps.AbstractStepDescriptorImpl;
 import org.jenkinsci.plugins.workflow.steps.AbstractStepImpl;
@@ -143,17 +145,19 @@ public class HygieiaArtifactPublishStep extends AbstractStepImpl {
 
 			HygieiaPublisher.DescriptorImpl hygieiaDesc = jenkins
 					.getDescriptorByType(HygieiaPublisher.DescriptorImpl.class);
-			String[] hygieiaAPIUrls = hygieiaDesc.getHygieiaAPIUrl().split(";");
+			List<String> hygieiaAPIUrls = hygieiaDesc.getGlobalConfig().getApiEndpoints();
 			List<Integer> responseCodes = new ArrayList<>();
 			for (String hygieiaAPIUrl : hygieiaAPIUrls) {
 				this.listener.getLogger().println("Publishing data for API " + hygieiaAPIUrl);
 				HygieiaService hygieiaService = getHygieiaService(hygieiaAPIUrl, hygieiaDesc.getHygieiaToken(),
 						hygieiaDesc.getHygieiaJenkinsName(), hygieiaDesc.isUseProxy());
 				String startedBy = HygieiaUtils.getUserID(run, listener);
-				HygieiaResponse buildResponse = hygieiaService.publishBuildData(new BuildBuilder().createBuildRequestFromRun(this.run, hygieiaDesc.getHygieiaJenkinsName(),
-						this.listener, BuildStatus.Success, true, new LinkedList<BuildStage>(), startedBy));
+				BuildDataCreateRequest buildRequest = new BuildBuilder().createBuildRequestFromRun(this.run, hygieiaDesc.getHygieiaJenkinsName(),
+						this.listener, BuildStatus.Success, true, new LinkedList<BuildStage>(), startedBy, hygieiaAPIUrl);
+				HygieiaResponse buildResponse = hygieiaService.publishBuildData(buildRequest);
 
 				if (buildResponse.getResponseCode() == HttpStatus.SC_CREATED) {
+					PublishedChangeSets.recordPublished(run, hygieiaAPIUrl, buildRequest.getSourceChangeSet());
 					listener.getLogger().println(
 							"Hygieia: Published Build Data For Artifacts Publishing. " + buildResponse.toString());
 				} else {
@@ -186,7 +190,7 @@ public class HygieiaArtifactPublishStep extends AbstractStepImpl {
 		// streamline unit testing
 		HygieiaService getHygieiaService(String hygieiaAPIUrl, String hygieiaToken, String hygieiaJenkinsName,
 				boolean useProxy) {
-			return new DefaultHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
+			return HygieiaServiceRegistry.getHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
 		}
 	}
 }
\ No newline at end of file
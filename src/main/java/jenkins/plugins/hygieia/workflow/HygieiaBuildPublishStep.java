@@ -2,6 +2,7 @@ package jenkins.plugins.hygieia.workflow;
 
 import com.capitalone.dashboard.model.BuildStage;
 import com.capitalone.dashboard.model.BuildStatus;
+import com.capitalone.dashboard.request.BuildDataCreateRequest;
 import hudson.Extension;
 import hudson.model.Run;
 import hudson.model.TaskListener;
@@ -9,10 +10,11 @@ import hudson.util.ListBoxModel;
 import hygieia.builder.BuildBuilder;
 import hygieia.utils.HygieiaUtils;
 import jenkins.model.Jenkins;
-import jenkins.plugins.hygieia.DefaultHygieiaService;
 import jenkins.plugins.hygieia.HygieiaPublisher;
 import jenkins.plugins.hygieia.HygieiaResponse;
 import jenkins.plugins.hygieia.HygieiaService;
+import jenkins.plugins.hygieia.HygieiaServiceRegistry;
+import jenkins.plugins.hygieia.PublishedChangeSets;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.httpclient.HttpStatus;
 import org.jenkinsci.plugins.workflow.steps.AbstractStepDescriptorImpl;
@@ -112,19 +114,20 @@ public class HygieiaBuildPublishStep extends AbstractStepImpl {
 
 			if(skipPublish) { return new ArrayList<>();}
 
-			String[] hygieiaAPIUrls = hygieiaDesc.getHygieiaAPIUrl().split(";");
+			List<String> hygieiaAPIUrls = hygieiaDesc.getGlobalConfig().getApiEndpoints();
 			List<Integer> responseCodes = new ArrayList<>();
 			for (String hygieiaAPIUrl : hygieiaAPIUrls) {
 				this.listener.getLogger().println("Publishing data for API " + hygieiaAPIUrl);
 				HygieiaService hygieiaService = getHygieiaService(hygieiaAPIUrl, hygieiaDesc.getHygieiaToken(),
 						hygieiaDesc.getHygieiaJenkinsName(), hygieiaDesc.isUseProxy());
 				String startedBy = HygieiaUtils.getUserID(run, listener);
-				HygieiaResponse buildResponse = hygieiaService.publishBuildData(
-						new BuildBuilder().createBuildRequestFromRun(run,
-								hygieiaDesc.getHygieiaJenkinsName(), listener,
-								BuildStatus.fromString(step.buildStatus), true,
-								new LinkedList<BuildStage>(), startedBy));
+				BuildDataCreateRequest buildRequest = new BuildBuilder().createBuildRequestFromRun(run,
+						hygieiaDesc.getHygieiaJenkinsName(), listener,
+						BuildStatus.fromString(step.buildStatus), true,
+						new LinkedList<BuildStage>(), startedBy, hygieiaAPIUrl);
+				HygieiaResponse buildResponse = hygieiaService.publishBuildData(buildRequest);
 				if (buildResponse.getResponseCode() == HttpStatus.SC_CREATED) {
+					PublishedChangeSets.recordPublished(run, hygieiaAPIUrl, buildRequest.getSourceChangeSet());
 					listener.getLogger().println("Hygieia: Published Build Complete Data. " + buildResponse.toString());
 				} else {
 					listener.getLogger()
@@ -138,7 +141,7 @@ public class HygieiaBuildPublishStep extends AbstractStepImpl {
 		// streamline unit testing
 		HygieiaService getHygieiaService(String hygieiaAPIUrl, String hygieiaToken, String hygieiaJenkinsName,
 				boolean useProxy) {
-			return new DefaultHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
+			return HygieiaServiceRegistry.getHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
 		}
 	}
 }
\ No newline at end of file
@@ -3,14 +3,8 @@ package jenkins.plugins.hygieia.workflow;
 
 import com.capitalone.dashboard.model.BuildStage;
 import com.capitalone.dashboard.model.BuildStatus;
-import com.capitalone.dashboard.model.CodeQuality;
 import com.capitalone.dashboard.model.CodeQualityMetric;
 import com.capitalone.dashboard.model.CodeQualityType;
-import com.capitalone.dashboard.model.quality.CheckstyleReport;
-import com.capitalone.dashboard.model.quality.FindBugsXmlReport;
-import com.capitalone.dashboard.model.quality.JacocoXmlReport;
-import com.capitalone.dashboard.model.quality.JunitXmlReport;
-import com.capitalone.dashboard.model.quality.PmdReport;
 import com.capitalone.dashboard.request.CodeQualityCreateRequest;
 import hudson.Extension;
 import hudson.FilePath;
@@ -19,11 +13,16 @@ import hudson.model.TaskListener;
 import hygieia.builder.BuildBuilder;
 import hygieia.utils.HygieiaUtils;
 import jenkins.model.Jenkins;
-import jenkins.plugins.hygieia.DefaultHygieiaService;
 import jenkins.plugins.hygieia.HygieiaPublisher;
 import jenkins.plugins.hygieia.HygieiaResponse;
 import jenkins.plugins.hygieia.HygieiaService;
+import jenkins.plugins.hygieia.HygieiaServiceRegistry;
+import jenkins.plugins.hygieia.utils.CodeQualityCallable;
 import jenkins.plugins.hygieia.utils.CodeQualityMetricsConverter;
+import jenkins.plugins.hygieia.utils.CodeQualityPartial;
+import jenkins.plugins.hygieia.utils.CodeQualityParseCallable;
+import jenkins.plugins.hygieia.utils.CodeQualityPartialCache;
+import jenkins.plugins.hygieia.utils.CodeQualityReportType;
 import org.apache.commons.httpclient.HttpStatus;
 import org.jenkinsci.plugins.workflow.steps.AbstractStepDescriptorImpl;
 import org.jenkinsci.plugins.workflow.steps.AbstractStepImpl;
@@ -31,20 +30,15 @@ import org.jenkinsci.plugins.workflow.steps.AbstractSynchronousNonBlockingStepEx
 import org.jenkinsci.plugins.workflow.steps.StepContextParameter;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
-import org.xml.sax.XMLReader;
 
 import javax.inject.Inject;
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.parsers.SAXParserFactory;
-import javax.xml.transform.sax.SAXSource;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
 
 
 public class HygieiaCodeQualityPublishStep extends AbstractStepImpl {
@@ -54,17 +48,14 @@ public class HygieiaCodeQualityPublishStep extends AbstractStepImpl {
     private String pmdFilePattern;
     private String checkstyleFilePattern;
     private String jacocoFilePattern;
-    private JAXBContext context;
     private HygieiaService service;
     private HygieiaPublisher.DescriptorImpl hygieiaDesc;
 
     @DataBoundConstructor
-    public HygieiaCodeQualityPublishStep() throws JAXBException {
-        context = JAXBContext.newInstance(JunitXmlReport.class, JacocoXmlReport.class,
-                FindBugsXmlReport.class, CheckstyleReport.class, PmdReport.class);
+    public HygieiaCodeQualityPublishStep() {
         if (null != Jenkins.getInstance()) {
             hygieiaDesc = Jenkins.getInstance().getDescriptorByType(HygieiaPublisher.DescriptorImpl.class);
-            service = new DefaultHygieiaService(hygieiaDesc.getHygieiaAPIUrl(), hygieiaDesc.getHygieiaToken(),
+            service = HygieiaServiceRegistry.getHygieiaService(hygieiaDesc.getHygieiaAPIUrl(), hygieiaDesc.getHygieiaToken(),
                     hygieiaDesc.getHygieiaJenkinsName(), hygieiaDesc.isUseProxy());
         }
 
@@ -74,10 +65,6 @@ public class HygieiaCodeQualityPublishStep extends AbstractStepImpl {
         return hygieiaDesc;
     }
 
-    public JAXBContext getContext() {
-        return context;
-    }
-
     @DataBoundSetter
     public void setJunitFilePattern(String junitFilePattern) {
         this.junitFilePattern = junitFilePattern;
@@ -154,6 +141,10 @@ public class HygieiaCodeQualityPublishStep extends AbstractStepImpl {
 
         private static final long serialVersionUID = 1L;
 
+        // upper bound on the number of report files parsed at the same time
+        private static final int PARALLELISM = Integer.getInteger(HygieiaCodeQualityPublishStep.class.getName() + ".parallelism",
+                Runtime.getRuntime().availableProcessors());
+
         @Inject
         transient HygieiaCodeQualityPublishStep step;
 
@@ -173,77 +164,15 @@ public class HygieiaCodeQualityPublishStep extends AbstractStepImpl {
             HygieiaResponse buildResponse = service.publishBuildData(new BuildBuilder()
                     .createBuildRequestFromRun(run, step.getHygieiaDesc().getHygieiaJenkinsName(),
                             listener, BuildStatus.Success, false, new LinkedList<BuildStage>(), startedBy));
-            CodeQualityMetricsConverter converter = new CodeQualityMetricsConverter();
-            Unmarshaller unmarshaller = step.getContext().createUnmarshaller();
-
-            PrintStream logger = listener.getLogger();
-
-            // junit
-            if (null!=step.getJunitFilePattern() && !step.getJunitFilePattern().isEmpty()) {
-                FilePath[] filePaths = filepath.list(step.getJunitFilePattern());
-                logger.println(String.format("Analysing %d junit file(s)", filePaths.length));
-                for (FilePath junit : filePaths) {
-                    JunitXmlReport report = unmarshall(unmarshaller, junit);
-                    report.accept(converter);
-                }
-            } else {
-                logger.println("Skipping junit analysis");
-            }
-
-            // pmd
-            if (null!=step.getPmdFilePattern() && !step.getPmdFilePattern().isEmpty()) {
-                FilePath[] filePaths = filepath.list(step.getPmdFilePattern());
-                logger.println(String.format("Analysing %d pmd file(s)", filePaths.length));
-                for (FilePath pmd : filePaths) {
-                    PmdReport report = unmarshall(unmarshaller, pmd);
-                    report.accept(converter);
-                }
-            } else {
-                logger.println("Skipping pmd analysis");
-            }
-
-            // findbugs
-            if (null!=step.getFindbugsFilePattern() && !step.getFindbugsFilePattern().isEmpty()) {
-                FilePath[] filePaths = filepath.list(step.getFindbugsFilePattern());
-                logger.println(String.format("Analysing %d findbugs file(s)", filePaths.length));
-                for (FilePath findbugs : filePaths) {
-                    FindBugsXmlReport report = unmarshall(unmarshaller, findbugs);
-                    report.accept(converter);
-                }
-            } else {
-                logger.println("Skipping findbugs analysis");
-            }
-
-            // checkstyle
-            if (null!=step.getCheckstyleFilePattern() && !step.getCheckstyleFilePattern().isEmpty()) {
-                FilePath[] filePaths = filepath.list(step.getCheckstyleFilePattern());
-                logger.println(String.format("Analysing %d checkstyle file(s)", filePaths.length));
-                for (FilePath checkstyle : filePaths) {
-                    CheckstyleReport report = unmarshall(unmarshaller, checkstyle);
-                    report.accept(converter);
-                }
-            } else {
-                logger.println("Skipping checkstyle analysis");
-            }
-
-            //jacoco
-            if (null!=step.getJacocoFilePattern() && !step.getJacocoFilePattern().isEmpty()) {
-                FilePath[] filePaths = filepath.list(step.getJacocoFilePattern());
-                logger.println(String.format("Analysing %d jacoco file(s)", filePaths.length));
-                for (FilePath checkstyle : filePaths) {
-                    JacocoXmlReport report = unmarshall(unmarshaller, checkstyle);
-                    report.accept(converter);
-                }
-            } else {
-                logger.println("Skipping jacoco analysis");
-            }
 
+            // discovery and parsing happen next to the workspace, only the metrics of each report come back
+            CodeQualityMetricsConverter converter = aggregate(CodeQualityPartialCache.getInstance());
+            Set<CodeQualityMetric> metrics = converter.produceResult().getMetrics();
 
             // results
-            CodeQuality codeQuality = converter.produceResult();
-            logger.println(String.format("Produced %d metrics, publishing to Hygieia", codeQuality.getMetrics().size()));
+            listener.getLogger().println(String.format("Produced %d metrics, publishing to Hygieia", metrics.size()));
 
-            CodeQualityCreateRequest request = convertToRequest(codeQuality);
+            CodeQualityCreateRequest request = convertToRequest(metrics);
             request.setProjectName(run.getParent().getFullName());
             request.setProjectUrl(run.getParent().getUrl());
             request.setNiceName(step.getHygieiaDesc().getHygieiaJenkinsName());
@@ -264,27 +193,60 @@ public class HygieiaCodeQualityPublishStep extends AbstractStepImpl {
             return null;
         }
 
-        private CodeQualityCreateRequest convertToRequest(CodeQuality quality) {
-            CodeQualityCreateRequest request = new CodeQualityCreateRequest();
-            for (CodeQualityMetric metric : quality.getMetrics()) {
-                request.getMetrics().add(metric);
+        /**
+         * Merges the reports in the order the agent listed them. The metrics of a report whose content hash is in
+         * the cache come from there; the agent only parses the others, whose metrics are then cached.
+         */
+        private CodeQualityMetricsConverter aggregate(CodeQualityPartialCache cache) throws IOException, InterruptedException {
+            List<CodeQualityCallable.Result> reports = CodeQualityCallable.readResults(filepath.act(new CodeQualityCallable(listener)
+                    .withFilePattern(CodeQualityReportType.JUNIT, step.getJunitFilePattern())
+                    .withFilePattern(CodeQualityReportType.PMD, step.getPmdFilePattern())
+                    .withFilePattern(CodeQualityReportType.FINDBUGS, step.getFindbugsFilePattern())
+                    .withFilePattern(CodeQualityReportType.CHECKSTYLE, step.getCheckstyleFilePattern())
+                    .withFilePattern(CodeQualityReportType.JACOCO, step.getJacocoFilePattern())));
+
+            List<CodeQualityPartial> partials = new ArrayList<>(reports.size());
+            List<CodeQualityCallable.Result> unparsed = new ArrayList<>();
+            for (CodeQualityCallable.Result report : reports) {
+                CodeQualityPartial partial = null == cache ? null : cache.get(report.getKey());
+                if (null == partial) {
+                    unparsed.add(report);
+                }
+                partials.add(partial);
+            }
+            int reused = reports.size() - unparsed.size();
+            if (reused > 0) {
+                listener.getLogger().println(String.format("Reused the metrics of %d unchanged file(s)", reused));
             }
 
-            return request;
-        }
+            if (!unparsed.isEmpty()) {
+                Iterator<CodeQualityCallable.Result> parsed = CodeQualityCallable.readResults(
+                        filepath.act(new CodeQualityParseCallable(PARALLELISM, unparsed))).iterator();
+                for (int i = 0; i < partials.size(); i++) {
+                    if (null == partials.get(i)) {
+                        CodeQualityCallable.Result result = parsed.next();
+                        partials.set(i, result.getPartial());
+                        if (null != cache) {
+                            cache.put(result.getKey(), result.getPartial());
+                        }
+                    }
+                }
+            }
 
-        private <T> T unmarshall(Unmarshaller unmarshaller, FilePath path) throws IOException, InterruptedException, JAXBException, SAXException, ParserConfigurationException {
-            SAXParserFactory spf = SAXParserFactory.newInstance();
-            spf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            spf.setFeature("http://xml.org/sax/features/validation", false);
+            CodeQualityMetricsConverter converter = new CodeQualityMetricsConverter();
+            for (CodeQualityPartial partial : partials) {
+                converter.merge(partial.toCodeQuality());
+            }
+            return converter;
+        }
 
-            XMLReader xmlReader = spf.newSAXParser().getXMLReader();
-            InputSource inputSource = new InputSource(
-                    path.read());
-            SAXSource source = new SAXSource(xmlReader, inputSource);
+        private CodeQualityCreateRequest convertToRequest(Collection<CodeQualityMetric> metrics) {
+            CodeQualityCreateRequest request = new CodeQualityCreateRequest();
+            for (CodeQualityMetric metric : metrics) {
+                request.getMetrics().add(metric);
+            }
 
-            //TODO prevent malicious xml attack, or ignore? (https://www.owasp.org/index.php/XML_External_Entity_(XXE)_Prevention_Cheat_Sheet#SAXTransformerFactory)
-            return (T) unmarshaller.unmarshal(source);
+            return request;
         }
     }
 }
@@ -2,6 +2,7 @@ package jenkins.plugins.hygieia.workflow;
 
 import com.capitalone.dashboard.model.BuildStage;
 import com.capitalone.dashboard.model.BuildStatus;
+import com.capitalone.dashboard.request.BuildDataCreateRequest;
 import com.capitalone.dashboard.request.DeployDataCreateRequest;
 import hudson.Extension;
 import hudson.FilePath;
@@ -13,10 +14,11 @@ import hygieia.builder.BuildBuilder;
 import hygieia.builder.DeployBuilder;
 import hygieia.utils.HygieiaUtils;
 import jenkins.model.Jenkins;
-import jenkins.plugins.hygieia.DefaultHygieiaService;
 import jenkins.plugins.hygieia.HygieiaPublisher;
 import jenkins.plugins.hygieia.HygieiaResponse;
 import jenkins.plugins.hygieia.HygieiaService;
+import jenkins.plugins.hygieia.HygieiaServiceRegistry;
+import jenkins.plugins.hygieia.PublishedChangeSets;
 import org.apache.commons.httpclient.HttpStatus;
 import org.jenkinsci.plugins.workflow.steps.AbstractStepDescriptorImpl;
 import org.jenkinsci.plugins.workflow.steps.AbstractStepImpl;
@@ -193,17 +195,19 @@ public class HygieiaDeployPublishStep extends AbstractStepImpl {
 			HygieiaPublisher.DescriptorImpl hygieiaDesc = jenkins
 					.getDescriptorByType(HygieiaPublisher.DescriptorImpl.class);
 			List<Integer> responseCodes = new ArrayList<Integer>();
-			String[] hygieiaAPIUrls = hygieiaDesc.getHygieiaAPIUrl().split(";");
+			List<String> hygieiaAPIUrls = hygieiaDesc.getGlobalConfig().getApiEndpoints();
 			for (String hygieiaAPIUrl : hygieiaAPIUrls) {
 				this.listener.getLogger().println("Publishing data for API " + hygieiaAPIUrl);
-				HygieiaService hygieiaService = getHygieiaService(hygieiaDesc.getHygieiaAPIUrl(),
+				HygieiaService hygieiaService = getHygieiaService(hygieiaAPIUrl,
 						hygieiaDesc.getHygieiaToken(), hygieiaDesc.getHygieiaJenkinsName(), hygieiaDesc.isUseProxy());
 
 				String startedBy = HygieiaUtils.getUserID(run, listener);
-				HygieiaResponse buildResponse = hygieiaService.publishBuildData(new BuildBuilder().createBuildRequestFromRun(run, hygieiaDesc.getHygieiaJenkinsName(), listener,
-						BuildStatus.Success, true, new LinkedList<BuildStage>(), startedBy));
+				BuildDataCreateRequest buildRequest = new BuildBuilder().createBuildRequestFromRun(run, hygieiaDesc.getHygieiaJenkinsName(), listener,
+						BuildStatus.Success, true, new LinkedList<BuildStage>(), startedBy, hygieiaAPIUrl);
+				HygieiaResponse buildResponse = hygieiaService.publishBuildData(buildRequest);
 
 				if (buildResponse.getResponseCode() == HttpStatus.SC_CREATED) {
+					PublishedChangeSets.recordPublished(run, hygieiaAPIUrl, buildRequest.getSourceChangeSet());
 					listener.getLogger().println(
 							"Hygieia: Published Build Data For Deployment Publishing. " + buildResponse.toString());
 				} else {
@@ -232,7 +236,7 @@ public class HygieiaDeployPublishStep extends AbstractStepImpl {
 		// streamline unit testing
 		HygieiaService getHygieiaService(String hygieiaAPIUrl, String hygieiaToken, String hygieiaJenkinsName,
 				boolean useProxy) {
-			return new DefaultHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
+			return HygieiaServiceRegistry.getHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
 		}
 	}
 }
\ No newline at end of file
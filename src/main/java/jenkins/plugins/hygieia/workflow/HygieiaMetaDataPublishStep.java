@@ -6,10 +6,10 @@ import hudson.model.Run;
 import hudson.model.TaskListener;
 import hygieia.builder.MetaDataBuilder;
 import jenkins.model.Jenkins;
-import jenkins.plugins.hygieia.DefaultHygieiaService;
 import jenkins.plugins.hygieia.HygieiaPublisher;
 import jenkins.plugins.hygieia.HygieiaResponse;
 import jenkins.plugins.hygieia.HygieiaService;
+import jenkins.plugins.hygieia.HygieiaServiceRegistry;
 import org.apache.commons.httpclient.HttpStatus;
 import org.jenkinsci.plugins.workflow.steps.AbstractStepDescriptorImpl;
 import org.jenkinsci.plugins.workflow.steps.AbstractStepImpl;
@@ -124,7 +124,7 @@ public class HygieiaMetaDataPublishStep extends AbstractStepImpl {
 
             HygieiaPublisher.DescriptorImpl hygieiaDesc = jenkins
                     .getDescriptorByType(HygieiaPublisher.DescriptorImpl.class);
-            String[] hygieiaAPIUrls = hygieiaDesc.getHygieiaAPIUrl().split(";");
+            List<String> hygieiaAPIUrls = hygieiaDesc.getGlobalConfig().getApiEndpoints();
             List<Integer> responseCodes = new ArrayList<>();
             for (String hygieiaAPIUrl : hygieiaAPIUrls) {
                 this.listener.getLogger().println("Publishing metadata for API " + hygieiaAPIUrl);
@@ -150,7 +150,7 @@ public class HygieiaMetaDataPublishStep extends AbstractStepImpl {
 
         HygieiaService getHygieiaService(String hygieiaAPIUrl, String hygieiaToken, String hygieiaJenkinsName,
                                          boolean useProxy) {
-            return new DefaultHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
+            return HygieiaServiceRegistry.getHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
         }
 
     }
@@ -20,10 +20,10 @@ import hygieia.transformer.HygieiaConstants;
 import hygieia.transformer.QualityVisiteeDeserializer;
 import hygieia.utils.HygieiaUtils;
 import jenkins.model.Jenkins;
-import jenkins.plugins.hygieia.DefaultHygieiaService;
 import jenkins.plugins.hygieia.HygieiaPublisher;
 import jenkins.plugins.hygieia.HygieiaResponse;
 import jenkins.plugins.hygieia.HygieiaService;
+import jenkins.plugins.hygieia.HygieiaServiceRegistry;
 import org.apache.commons.httpclient.HttpStatus;
 import org.jenkinsci.plugins.workflow.steps.AbstractStepDescriptorImpl;
 import org.jenkinsci.plugins.workflow.steps.AbstractStepImpl;
@@ -45,6 +45,7 @@ public class HygieiaTestPublishStep extends AbstractStepImpl {
     private String testType;
     private String testApplicationName;
     private String testEnvironmentName;
+    private boolean failuresOnly;
 
     public String getBuildStatus() {
         return buildStatus;
@@ -100,6 +101,15 @@ public class HygieiaTestPublishStep extends AbstractStepImpl {
         this.testEnvironmentName = testEnvironmentName;
     }
 
+    public boolean isFailuresOnly() {
+        return failuresOnly;
+    }
+
+    @DataBoundSetter
+    public void setFailuresOnly(boolean failuresOnly) {
+        this.failuresOnly = failuresOnly;
+    }
+
     @DataBoundConstructor
     public HygieiaTestPublishStep(String buildStatus, String testFileNamePattern, String testResultsDirectory, String testType, String testApplicationName, String testEnvironmentName) {
         this.buildStatus = buildStatus;
@@ -209,7 +219,7 @@ public class HygieiaTestPublishStep extends AbstractStepImpl {
             }
             TestDataCreateRequest request =  new FunctionalTestBuilder(objectMapper).getTestDataCreateRequest(run, listener, BuildStatus.fromString(step.buildStatus), filepath, step.testApplicationName,
                             step.testEnvironmentName, step.testType, step.testFileNamePattern, step.testResultsDirectory,
-                            hygieiaDesc.getHygieiaJenkinsName(), HygieiaUtils.getBuildCollectionId(buildResponse.getResponseValue()));
+                            hygieiaDesc.getHygieiaJenkinsName(), HygieiaUtils.getBuildCollectionId(buildResponse.getResponseValue()), step.failuresOnly);
 
             if (request != null) {
                 HygieiaResponse testResponse = hygieiaService.publishTestResults(request);
@@ -227,7 +237,7 @@ public class HygieiaTestPublishStep extends AbstractStepImpl {
 
         //streamline unit testing
         HygieiaService getHygieiaService(String hygieiaAPIUrl, String hygieiaToken, String hygieiaJenkinsName, boolean useProxy) {
-            return new DefaultHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
+            return HygieiaServiceRegistry.getHygieiaService(hygieiaAPIUrl, hygieiaToken, hygieiaJenkinsName, useProxy);
         }
     }
 
@@ -0,0 +1,84 @@
+package hygieia.builder;
+
+import com.capitalone.dashboard.model.SCM;
+import hudson.model.User;
+import hudson.scm.ChangeLogSet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CommitBuilderTest {
+
+    private final User author = mock(User.class);
+
+    @Test
+    public void keepsTheFirstCommitOfEveryRevisionInOrder() {
+        ChangeLogSet first = changeLogSet();
+        ChangeLogSet second = changeLogSet();
+        withEntries(first, entry(first, "a"), entry(first, "b"));
+        withEntries(second, entry(second, "b"), entry(second, "c"));
+
+        List<SCM> commits = new CommitBuilder(Arrays.<ChangeLogSet<? extends ChangeLogSet.Entry>>asList(first, second)).getCommits();
+
+        assertThat(revisions(commits)).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    public void walksParentChangeLogSetsDepthFirst() {
+        ChangeLogSet child = changeLogSet();
+        ChangeLogSet parent = changeLogSet();
+        withEntries(parent, entry(parent, "p1"), entry(parent, "p2"));
+        withEntries(child, entry(parent, "c1"), entry(child, "c2"));
+
+        List<SCM> commits = new CommitBuilder(child).getCommits();
+
+        assertThat(revisions(commits)).containsExactly("c1", "p1", "p2", "c2");
+    }
+
+    @Test
+    public void deduplicatesLargeChangeLogSets() {
+        ChangeLogSet changeLogSet = changeLogSet();
+        List<ChangeLogSet.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            entries.add(entry(changeLogSet, Integer.toHexString(i % 10000)));
+        }
+        withEntries(changeLogSet, entries.toArray(new ChangeLogSet.Entry[entries.size()]));
+
+        List<SCM> commits = new CommitBuilder(Collections.<ChangeLogSet<? extends ChangeLogSet.Entry>>singletonList(changeLogSet)).getCommits();
+
+        assertThat(commits).hasSize(10000);
+        assertThat(commits.get(9999).getScmRevisionNumber()).isEqualTo(Integer.toHexString(9999));
+    }
+
+    private static ChangeLogSet changeLogSet() {
+        return mock(ChangeLogSet.class);
+    }
+
+    private static void withEntries(ChangeLogSet changeLogSet, ChangeLogSet.Entry... entries) {
+        when(changeLogSet.getItems()).thenReturn(entries);
+    }
+
+    private ChangeLogSet.Entry entry(ChangeLogSet parent, String revision) {
+        ChangeLogSet.Entry entry = mock(ChangeLogSet.Entry.class);
+        when(entry.getParent()).thenReturn(parent);
+        when(entry.getAuthor()).thenReturn(author);
+        when(entry.getCommitId()).thenReturn(revision);
+        when(entry.getMsg()).thenReturn("commit " + revision);
+        return entry;
+    }
+
+    private static List<String> revisions(List<SCM> commits) {
+        List<String> revisions = new ArrayList<>();
+        for (SCM commit : commits) {
+            revisions.add(commit.getScmRevisionNumber());
+        }
+        return revisions;
+    }
+}
@@ -0,0 +1,93 @@
+package hygieia.builder;
+
+import com.capitalone.dashboard.model.TestCapability;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hudson.model.TaskListener;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestCapabilityCallableTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TaskListener listener;
+
+    @Before
+    public void setup() {
+        listener = mock(TaskListener.class);
+        when(listener.getLogger()).thenReturn(new PrintStream(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void transformsCucumberAndMochaReportsInTheWorkspace() throws Exception {
+        copy("/mochjsspec.json", "mocha/mochjsspec.json");
+        copy("/cucumber.json", "cucumber/cucumber.json");
+        copy("/cucumber.json", "other/cucumber.txt");
+
+        String json = new TestCapabilityCallable("**/*.json", "Functional", "42", 1024, listener)
+                .invoke(folder.getRoot(), null);
+
+        List<TestCapability> capabilities = read(json);
+        assertThat(capabilities).hasSize(2);
+
+        TestCapability cucumber = capability(capabilities, "/cucumber");
+        assertThat(cucumber.getExecutionId()).isEqualTo("42");
+        assertThat(cucumber.getTestSuites()).hasSize(1);
+        assertThat(cucumber.getFailedTestSuiteCount()).isEqualTo(1);
+        assertThat(cucumber.getTestSuites().iterator().next().getTestCases()).hasSize(2);
+
+        TestCapability mocha = capability(capabilities, "/mocha");
+        assertThat(mocha.getExecutionId()).isEqualTo("42");
+        assertThat(mocha.getTestSuites()).hasSize(3);
+        assertThat(mocha.getSuccessTestSuiteCount()).isEqualTo(1);
+        assertThat(mocha.getFailedTestSuiteCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void capabilitiesFollowTheSortedPathsOfTheFiles() throws Exception {
+        String[] directories = {"run-7", "run-2", "run-5", "run-0", "run-3", "run-6", "run-1", "run-4"};
+        for (String directory : directories) {
+            copy("/cucumber.json", directory + "/cucumber.json");
+        }
+
+        String json = new TestCapabilityCallable("**/cucumber.json", "Functional", "42", 1024, listener)
+                .invoke(folder.getRoot(), null);
+
+        List<String> descriptions = new ArrayList<>();
+        for (TestCapability capability : read(json)) {
+            descriptions.add(capability.getDescription());
+        }
+        assertThat(descriptions).containsExactly("/run-0", "/run-1", "/run-2", "/run-3", "/run-4", "/run-5", "/run-6", "/run-7");
+    }
+
+    private void copy(String resource, String path) throws Exception {
+        FileUtils.copyURLToFile(getClass().getResource(resource), new File(folder.getRoot(), path));
+    }
+
+    private static TestCapability capability(List<TestCapability> capabilities, String description) {
+        for (TestCapability capability : capabilities) {
+            if (description.equals(capability.getDescription())) {
+                return capability;
+            }
+        }
+        throw new AssertionError("No capability described as " + description);
+    }
+
+    private static List<TestCapability> read(String json) throws Exception {
+        return FunctionalTestBuilder.readCapabilities(new ObjectMapper(), json);
+    }
+}
@@ -0,0 +1,71 @@
+package hygieia.transformer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.Assert.assertThat;
+
+public class CucumberJsonParserFilterTest {
+
+    private static final String STEP = "[{\"name\":\"feature\",\"elements\":[{\"steps\":[{"
+            + "\"name\":\"a step\","
+            + "\"embeddings\":[{\"mime_type\":\"image/png\",\"data\":\"aGVsbG8gd29ybGQ=\"}],"
+            + "\"output\":[\"some\",\"log\",\"lines\"],"
+            + "\"doc_string\":{\"content_type\":\"\",\"value\":\"0123456789\",\"line\":3},"
+            + "\"result\":{\"status\":\"passed\",\"duration\":1}"
+            + "}]}]}]";
+
+    private ObjectMapper mapper;
+
+    @Before
+    public void setup() {
+        mapper = new ObjectMapper();
+    }
+
+    @Test
+    public void skipsEmbeddingsAndOutput() throws Exception {
+        List<String> fieldNames = new ArrayList<>();
+        JsonParser parser = new CucumberJsonParserFilter(mapper.getFactory().createParser(STEP), 100);
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.FIELD_NAME) {
+                fieldNames.add(parser.getCurrentName());
+            }
+        }
+
+        assertThat(fieldNames, not(hasItem("embeddings")));
+        assertThat(fieldNames, not(hasItem("output")));
+        assertThat(fieldNames, not(hasItem("mime_type")));
+        assertThat(fieldNames, hasItems("name", "doc_string", "result", "status"));
+    }
+
+    @Test
+    public void truncatesOversizedDocString() throws Exception {
+        JsonNode tree = mapper.readTree(new CucumberJsonParserFilter(mapper.getFactory().createParser(STEP), 4));
+
+        JsonNode step = tree.get(0).get("elements").get(0).get("steps").get(0);
+        assertThat(step.get("doc_string").get("value").asText(), is(equalTo("0123")));
+        assertThat(step.get("name").asText(), is(equalTo("a step")));
+        assertThat(step.has("embeddings"), is(false));
+    }
+
+    @Test
+    public void keepsDocStringWithinLimit() throws Exception {
+        JsonNode tree = mapper.readTree(new CucumberJsonParserFilter(mapper.getFactory().createParser(STEP), 100));
+
+        JsonNode step = tree.get(0).get("elements").get(0).get("steps").get(0);
+        assertThat(step.get("doc_string").get("value").asText(), is(equalTo("0123456789")));
+    }
+}
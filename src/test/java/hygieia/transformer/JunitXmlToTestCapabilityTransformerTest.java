@@ -0,0 +1,81 @@
+package hygieia.transformer;
+
+import com.capitalone.dashboard.model.TestCapability;
+import com.capitalone.dashboard.model.TestCaseStatus;
+import com.capitalone.dashboard.model.TestSuite;
+import com.capitalone.dashboard.model.TestSuiteType;
+import com.capitalone.dashboard.request.BuildDataCreateRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JunitXmlToTestCapabilityTransformerTest {
+
+    private static final String AGGREGATED = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<testsuites>"
+            + "<testsuite name=\"first\" tests=\"3\">"
+            + "<testcase classname=\"a.First\" name=\"passes\" time=\"0.5\"><system-out>lots of output</system-out></testcase>"
+            + "<testcase classname=\"a.First\" name=\"fails\" time=\"1.25\"><failure message=\"boom\">stack trace</failure></testcase>"
+            + "<testcase classname=\"a.First\" name=\"ignored\" time=\"0\"><skipped/></testcase>"
+            + "</testsuite>"
+            + "<testsuite name=\"outer\">"
+            + "<testsuite name=\"nested\"><testcase classname=\"a.Nested\" name=\"errors\" time=\"1,000.0\"><error/></testcase></testsuite>"
+            + "</testsuite>"
+            + "</testsuites>";
+
+    private BuildDataCreateRequest mockBuildDataRequest;
+    private JunitXmlToTestCapabilityTransformer sut;
+
+    @Before
+    public void setup() {
+        mockBuildDataRequest = mock(BuildDataCreateRequest.class);
+        when(mockBuildDataRequest.getNumber()).thenReturn("aBuildNumber");
+
+        sut = new JunitXmlToTestCapabilityTransformer(mockBuildDataRequest, "testDescription", TestSuiteType.Unit);
+    }
+
+    @Test
+    public void convertsSurefireReport() throws Exception {
+        try (InputStream in = this.getClass().getResourceAsStream("/junit.xml")) {
+            TestCapability capability = sut.convert(in);
+
+            assertThat(capability.getExecutionId(), is(equalTo("aBuildNumber")));
+            assertThat(capability.getDescription(), is(equalTo("testDescription")));
+            assertThat(capability.getType(), is(TestSuiteType.Unit));
+            assertThat(capability.getTotalTestSuiteCount(), is(equalTo(1)));
+            assertThat(capability.getStatus(), is(TestCaseStatus.Success));
+
+            TestSuite suite = capability.getTestSuites().iterator().next();
+            assertThat(suite.getDescription(), is(equalTo("com.capitalone.dashboard.event.CommitEventListenerTest")));
+            assertThat(suite.getTotalTestCaseCount(), is(equalTo(4)));
+            assertThat(suite.getSuccessTestCaseCount(), is(equalTo(4)));
+        }
+    }
+
+    @Test
+    public void convertsAggregatedReportWithNestedSuites() throws Exception {
+        TestCapability capability = sut.convert(new ByteArrayInputStream(AGGREGATED.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(capability.getTotalTestSuiteCount(), is(equalTo(2)));
+        assertThat(capability.getFailedTestSuiteCount(), is(equalTo(2)));
+        assertThat(capability.getStatus(), is(TestCaseStatus.Failure));
+        assertThat(capability.getDuration(), is(equalTo(1001750L)));
+
+        TestSuite first = capability.getTestSuites().iterator().next();
+        assertThat(first.getDescription(), is(equalTo("first")));
+        assertThat(first.getTotalTestCaseCount(), is(equalTo(3)));
+        assertThat(first.getSuccessTestCaseCount(), is(equalTo(1)));
+        assertThat(first.getFailedTestCaseCount(), is(equalTo(1)));
+        assertThat(first.getSkippedTestCaseCount(), is(equalTo(1)));
+        assertThat(first.getDuration(), is(equalTo(1750L)));
+    }
+}
@@ -1,6 +1,10 @@
 package hygieia.transformer;
 
+import com.capitalone.dashboard.model.TestCapability;
+import com.capitalone.dashboard.model.TestCase;
+import com.capitalone.dashboard.model.TestCaseStatus;
 import com.capitalone.dashboard.model.TestResult;
+import com.capitalone.dashboard.model.TestSuite;
 import com.capitalone.dashboard.model.quality.CucumberJsonReport;
 import com.capitalone.dashboard.model.quality.MochaJsSpecReport;
 import com.capitalone.dashboard.request.BuildDataCreateRequest;
@@ -11,6 +15,7 @@ import org.junit.Test;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 
@@ -55,6 +60,28 @@ public class TestResultVisitorTest {
         assertThat(report.getTotalCount(),is(equalTo(1)));
     }
 
+    @Test
+    public void failuresOnlyRollsPassingCasesIntoSuiteCounters() {
+        sut.setFailuresOnly(true);
+        sut.visit(mochaTestReport);
+
+        TestResult report = sut.produceResult();
+
+        assertThat(report.getTotalCount(), is(equalTo(1)));
+        TestCapability capability = report.getTestCapabilities().iterator().next();
+        int total = 0, success = 0;
+        for (TestSuite suite : capability.getTestSuites()) {
+            for (TestCase testCase : suite.getTestCases()) {
+                assertThat(testCase.getStatus(), is(not(TestCaseStatus.Success)));
+            }
+            assertThat(suite.getTotalTestCaseCount() - suite.getSuccessTestCaseCount(), is(equalTo(suite.getTestCases().size())));
+            total += suite.getTotalTestCaseCount();
+            success += suite.getSuccessTestCaseCount();
+        }
+        assertThat(total, is(equalTo(6)));
+        assertThat(success, is(equalTo(3)));
+    }
+
     @Test
     public void combinesResultsFromMultiples() {
 
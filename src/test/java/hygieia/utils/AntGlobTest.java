@@ -0,0 +1,75 @@
+package hygieia.utils;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AntGlobTest {
+
+    @Test
+    public void nameOnlyPatternsMatchAtAnyDepth() {
+        AntGlob glob = AntGlob.compile("*.jar");
+
+        assertThat(glob.matches("app.jar")).isTrue();
+        assertThat(glob.matches("module/target/app.jar")).isTrue();
+        assertThat(glob.matches("module/target/app.pom")).isFalse();
+    }
+
+    @Test
+    public void doubleStarInsideANameIsASingleStar() {
+        assertThat(AntGlob.compile("**.xml").matches("reports/TEST-a.xml")).isTrue();
+    }
+
+    @Test
+    public void doubleStarSegmentMatchesZeroOrMoreDirectories() {
+        AntGlob glob = AntGlob.compile("target/**/reports/*.json");
+
+        assertThat(glob.matches("target/reports/a.json")).isTrue();
+        assertThat(glob.matches("target/site/it/reports/a.json")).isTrue();
+        assertThat(glob.matches("other/target/reports/a.json")).isFalse();
+        assertThat(glob.matches("target/reports/nested/a.json")).isFalse();
+    }
+
+    @Test
+    public void trailingSlashMatchesEverythingBelow() {
+        AntGlob glob = AntGlob.compile("dist/");
+
+        assertThat(glob.matches("dist/app.zip")).isTrue();
+        assertThat(glob.matches("dist/lib/dep.jar")).isTrue();
+        assertThat(glob.matches("build/app.zip")).isFalse();
+    }
+
+    @Test
+    public void leadingDotSlashAndBackslashesAreNormalized() {
+        assertThat(AntGlob.compile("./target\\*.jar").matches("target/app.jar")).isTrue();
+    }
+
+    @Test
+    public void subtreesThatCannotMatchAreExhausted() {
+        AntGlob glob = AntGlob.compile("target/**/reports/*.json");
+
+        BitSet other = glob.advance(glob.start(), "other");
+        BitSet target = glob.advance(glob.start(), "target");
+        BitSet json = glob.advance(glob.advance(target, "reports"), "a.json");
+
+        assertThat(glob.isExhausted(other)).isTrue();
+        assertThat(glob.isExhausted(target)).isFalse();
+        assertThat(glob.accepts(json)).isTrue();
+    }
+
+    @Test
+    public void antModeMatchesNameOnlyPatternsInTheBaseDirectoryOnly() {
+        AntGlob glob = AntGlob.compile("target", "*.xml", false);
+
+        assertThat(glob.matches("target/pmd.xml")).isTrue();
+        assertThat(glob.matches("target/site/pmd.xml")).isFalse();
+        assertThat(glob.matches("pmd.xml")).isFalse();
+    }
+
+    @Test
+    public void compiledOncePerPattern() {
+        assertThat(AntGlob.compile("**/*.xml")).isSameAs(AntGlob.compile("**/*.xml"));
+    }
+}
@@ -0,0 +1,55 @@
+package hygieia.utils;
+
+import hudson.FilePath;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArtifactChecksumCallableTest {
+
+    private static final String ABC_SHA256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+    private static final String ABD_SHA256 = "a52d159f262b2c6ddb724a61840befc36eb30c88877a4030b65cbe86298449c9";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void hashesRegularFilesOnly() throws Exception {
+        File jar = write("app-1.0.jar", "abc");
+        File directory = folder.newFolder("app-1.0");
+        FilePath root = new FilePath(folder.getRoot());
+
+        Map<String, String> checksums = HygieiaUtils.getArtifactChecksums(root,
+                Arrays.asList(new FilePath(jar), new FilePath(directory), new FilePath(new File(folder.getRoot(), "missing.jar"))));
+
+        assertThat(checksums).hasSize(1).containsEntry(jar.getPath(), ABC_SHA256);
+    }
+
+    @Test
+    public void unchangedSizeAndModificationTimeReusesTheDigest() throws Exception {
+        File jar = write("app-1.0.jar", "abc");
+        long lastModified = jar.lastModified();
+        assertThat(ArtifactChecksumCallable.checksum(jar.toPath())).isEqualTo(ABC_SHA256);
+
+        Files.write(jar.toPath(), "abd".getBytes(StandardCharsets.UTF_8));
+        assertThat(jar.setLastModified(lastModified)).isTrue();
+        assertThat(ArtifactChecksumCallable.checksum(jar.toPath())).isEqualTo(ABC_SHA256);
+
+        assertThat(jar.setLastModified(lastModified - 10000)).isTrue();
+        assertThat(ArtifactChecksumCallable.checksum(jar.toPath())).isEqualTo(ABD_SHA256);
+    }
+
+    private File write(String name, String content) throws Exception {
+        File file = folder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,98 @@
+package hygieia.utils;
+
+import hudson.FilePath;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArtifactFilesCallableTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void findsMatchesAtEveryDepth() throws Exception {
+        folder.newFile("app-1.0.jar");
+        folder.newFolder("module", "target");
+        folder.newFile("module/target/module-1.0.jar");
+        folder.newFile("module/target/module-1.0.pom");
+
+        List<FilePath> files = HygieiaUtils.getArtifactFiles(new FilePath(folder.getRoot()), "*.jar", new ArrayList<FilePath>());
+
+        assertThat(names(files)).containsOnly("app-1.0.jar", "module-1.0.jar");
+    }
+
+    @Test
+    public void doubleStarMatchesLikeSingleStar() throws Exception {
+        folder.newFolder("reports");
+        folder.newFile("reports/TEST-a.xml");
+        folder.newFile("reports/summary.txt");
+
+        List<FilePath> files = HygieiaUtils.getArtifactFiles(new FilePath(folder.getRoot()), "**.xml", new ArrayList<FilePath>());
+
+        assertThat(names(files)).containsOnly("TEST-a.xml");
+    }
+
+    @Test
+    public void literalCharactersAreNotRegex() throws Exception {
+        folder.newFile("a+b.json");
+        folder.newFile("aab.json");
+
+        List<FilePath> files = HygieiaUtils.getArtifactFiles(new FilePath(folder.getRoot()), "a+b.json", new ArrayList<FilePath>());
+
+        assertThat(names(files)).containsOnly("a+b.json");
+    }
+
+    @Test
+    public void matchesPathsRelativeToTheRoot() throws Exception {
+        folder.newFolder("target", "site", "reports");
+        folder.newFile("target/site/reports/cucumber.json");
+        folder.newFolder("other", "reports");
+        folder.newFile("other/reports/cucumber.json");
+
+        List<FilePath> files = HygieiaUtils.getArtifactFiles(new FilePath(folder.getRoot()), "target/**/reports/*.json", new ArrayList<FilePath>());
+
+        assertThat(files).hasSize(1);
+        assertThat(files.get(0).getRemote()).isEqualTo(new File(folder.getRoot(), "target/site/reports/cucumber.json").getPath());
+    }
+
+    @Test
+    public void excludedPathsAreLeftOut() throws Exception {
+        folder.newFolder("reports");
+        folder.newFile("reports/pmd.xml");
+        folder.newFile("reports/pmd.xml~");
+        folder.newFolder(".git", "reports");
+        folder.newFile(".git/reports/pmd.xml");
+
+        List<List<String>> found = ArtifactFilesCallable.walk(folder.getRoot().toPath(),
+                Collections.singletonList(AntGlob.compile("", "**/pmd.xml*", false)),
+                Arrays.asList(AntGlob.compile("", "**/*~", false), AntGlob.compile("", "**/.git/**", false)));
+
+        assertThat(found.get(0)).containsExactly(new File(folder.getRoot(), "reports/pmd.xml").getPath());
+    }
+
+    @Test
+    public void missingDirectoryHasNoMatches() throws Exception {
+        FilePath missing = new FilePath(new File(folder.getRoot(), "missing"));
+
+        assertThat(HygieiaUtils.getArtifactFiles(missing, "*.jar", new ArrayList<FilePath>())).isEmpty();
+    }
+
+    private static Set<String> names(List<FilePath> files) {
+        Set<String> names = new HashSet<>();
+        for (FilePath file : files) {
+            names.add(file.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,69 @@
+package hygieia.utils;
+
+import hudson.model.Result;
+import hudson.plugins.git.Branch;
+import hudson.plugins.git.Revision;
+import hudson.plugins.git.util.Build;
+import hudson.plugins.git.util.BuildData;
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GitBranchIndexTest {
+
+    private final BuildData buildData = new BuildData();
+
+    @Test
+    public void findsTheBranchOfABuild() {
+        build("origin/master", 1);
+        build("origin/feature", 2);
+
+        assertThat(GitBranchIndex.getBranch(buildData, 1)).isEqualTo("origin/master");
+        assertThat(GitBranchIndex.getBranch(buildData, 2)).isEqualTo("origin/feature");
+        assertThat(GitBranchIndex.getBranch(buildData, 3)).isEmpty();
+    }
+
+    @Test
+    public void seesBuildsSavedAfterTheIndexWasBuilt() {
+        build("origin/master", 1);
+        assertThat(GitBranchIndex.getBranch(buildData, 1)).isEqualTo("origin/master");
+
+        build("origin/master", 2);
+
+        assertThat(GitBranchIndex.getBranch(buildData, 2)).isEqualTo("origin/master");
+        assertThat(GitBranchIndex.getBranch(buildData, 1)).isEmpty();
+    }
+
+    @Test
+    public void missesDoNotRebuildAnUnchangedIndex() {
+        BuildData mocked = mock(BuildData.class);
+        Map<String, Build> branches = spy(new HashMap<String, Build>());
+        when(mocked.getBuildsByBranchName()).thenReturn(branches);
+        branches.put("origin/master", new Build(revision("origin/master", 1), 1, Result.SUCCESS));
+
+        assertThat(GitBranchIndex.getBranch(mocked, 2)).isEmpty();
+        assertThat(GitBranchIndex.getBranch(mocked, 3)).isEmpty();
+        assertThat(GitBranchIndex.getBranch(mocked, 1)).isEqualTo("origin/master");
+
+        verify(branches, times(1)).entrySet();
+    }
+
+    private void build(String branch, int number) {
+        buildData.saveBuild(new Build(revision(branch, number), number, Result.SUCCESS));
+    }
+
+    private static Revision revision(String branch, int number) {
+        ObjectId sha1 = ObjectId.fromString(String.format("%040x", number));
+        return new Revision(sha1, Collections.singletonList(new Branch(branch, sha1)));
+    }
+}
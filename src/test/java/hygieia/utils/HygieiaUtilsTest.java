@@ -5,6 +5,9 @@ import com.capitalone.dashboard.model.BuildStage;
 import com.google.common.io.Resources;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import hudson.model.Action;
+import hudson.model.Cause;
+import hudson.model.Run;
 import org.apache.commons.io.IOUtils;
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
@@ -16,6 +19,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class HygieiaUtilsTest {
 
@@ -97,6 +106,25 @@ public class HygieiaUtilsTest {
         assertNull(bs.getExec_node_logUrl());
     }
 
+    @Test
+    public void getUserIDIsResolvedOncePerRun() {
+        Run run = mock(Run.class);
+        Cause.UserIdCause cause = mock(Cause.UserIdCause.class);
+        when(cause.getUserId()).thenReturn(" jdoe ");
+        when(run.getCause(Cause.UserIdCause.class)).thenReturn(cause);
+
+        assertEquals("jdoe", HygieiaUtils.getUserID(run, null));
+        assertEquals("jdoe", HygieiaUtils.getUserID(run, null));
+
+        verify(run, times(1)).getCause(Cause.UserIdCause.class);
+        verify(run, never()).addAction(any(Action.class));
+    }
+
+    @Test
+    public void getUserIDWithoutCauseIsAnonymous() {
+        assertEquals("anonymous", HygieiaUtils.getUserID(mock(Run.class), null));
+    }
+
 
     private String loadJson(String fileName){
         try {
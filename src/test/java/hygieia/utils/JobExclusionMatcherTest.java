@@ -0,0 +1,42 @@
+package hygieia.utils;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JobExclusionMatcherTest {
+
+    @Test
+    public void plainEntriesArePrefixesOfTheNameIgnoringCase() {
+        JobExclusionMatcher matcher = JobExclusionMatcher.compile("PR-, test");
+
+        assertThat(matcher.isExcluded("pr-123", "team/pr-123")).isTrue();
+        assertThat(matcher.isExcluded("Testing", "Testing")).isTrue();
+        assertThat(matcher.isExcluded("release", "team/PR-123/release")).isFalse();
+    }
+
+    @Test
+    public void globsMatchTheFullName() {
+        JobExclusionMatcher matcher = JobExclusionMatcher.compile("sandbox/*,**/nightly-?");
+
+        assertThat(matcher.isExcluded("job", "sandbox/job")).isTrue();
+        assertThat(matcher.isExcluded("job", "sandbox/folder/job")).isFalse();
+        assertThat(matcher.isExcluded("nightly-1", "a/b/Nightly-1")).isTrue();
+        assertThat(matcher.isExcluded("nightly-10", "a/b/nightly-10")).isFalse();
+    }
+
+    @Test
+    public void regexEntriesMatchTheFullName() {
+        JobExclusionMatcher matcher = JobExclusionMatcher.compile("regex:.*/(feature|bugfix)-[0-9]+,regex:[invalid");
+
+        assertThat(matcher.isExcluded("feature-12", "app/feature-12")).isTrue();
+        assertThat(matcher.isExcluded("feature-x", "app/feature-x")).isFalse();
+    }
+
+    @Test
+    public void emptyEntriesExcludeNothing() {
+        assertThat(JobExclusionMatcher.compile("").isExcluded("job", "job")).isFalse();
+        assertThat(JobExclusionMatcher.compile(" , ,").isExcluded("job", "job")).isFalse();
+        assertThat(HygieiaUtils.isJobExcluded("PR-1", "a,,pr-")).isTrue();
+    }
+}
@@ -0,0 +1,47 @@
+package hygieia.utils;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NoProxyHostMatcherTest {
+
+    @Test
+    public void hostsAndDomainsAreReachedDirectly() {
+        NoProxyHostMatcher matcher = NoProxyHostMatcher.compile("localhost\n*.corp.example.com, .intranet|10.0.0.1");
+
+        assertThat(matcher.isDirect("localhost", 80)).isTrue();
+        assertThat(matcher.isDirect("Hygieia.Corp.Example.com", 443)).isTrue();
+        assertThat(matcher.isDirect("sonar.eu.intranet", 9000)).isTrue();
+        assertThat(matcher.isDirect("10.0.0.1", 8080)).isTrue();
+        assertThat(matcher.isDirect("corp.example.com", 443)).isFalse();
+        assertThat(matcher.isDirect("hygieia.example.com", 443)).isFalse();
+    }
+
+    @Test
+    public void wildcardsMatchLikeJenkins() {
+        NoProxyHostMatcher matcher = NoProxyHostMatcher.compile("192.168.*  *sonar*");
+
+        assertThat(matcher.isDirect("192.168.1.20", 80)).isTrue();
+        assertThat(matcher.isDirect("my-sonar-host", 9000)).isTrue();
+        assertThat(matcher.isDirect("192.1680.1.20", 80)).isFalse();
+    }
+
+    @Test
+    public void portsRestrictTheBypass() {
+        NoProxyHostMatcher matcher = NoProxyHostMatcher.compile("hygieia.local:8080,*.build:443,10.*:9000");
+
+        assertThat(matcher.isDirect("hygieia.local", 8080)).isTrue();
+        assertThat(matcher.isDirect("hygieia.local", 443)).isFalse();
+        assertThat(matcher.isDirect("jenkins.build", 443)).isTrue();
+        assertThat(matcher.isDirect("jenkins.build", 80)).isFalse();
+        assertThat(matcher.isDirect("10.1.2.3", 9000)).isTrue();
+        assertThat(matcher.isDirect("10.1.2.3", 9001)).isFalse();
+    }
+
+    @Test
+    public void emptyListBypassesNothing() {
+        assertThat(NoProxyHostMatcher.compile("").isDirect("localhost", 80)).isFalse();
+        assertThat(NoProxyHostMatcher.compile(null).isDirect("localhost", 80)).isFalse();
+    }
+}
@@ -0,0 +1,88 @@
+package hygieia.utils;
+
+import hudson.FilePath;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class WorkspaceIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void groupsMatchesByConsumer() throws Exception {
+        File workspace = folder.newFolder("workspace");
+        new File(workspace, "target/reports").mkdirs();
+        new File(workspace, "target/app-1.0.jar").createNewFile();
+        new File(workspace, "target/reports/cucumber.json").createNewFile();
+        new File(workspace, "deploy").mkdirs();
+        new File(workspace, "deploy/app-1.0.war").createNewFile();
+        FilePath root = new FilePath(workspace);
+
+        WorkspaceIndex index = new WorkspaceIndex(root)
+                .register("artifact", new FilePath(root, "target"), "*.jar")
+                .register("test", new FilePath(root, "."), "**/reports/*.json")
+                .register("deploy", new FilePath(root, "deploy"), "*.war");
+
+        assertThat(names(index.getFiles("artifact"))).containsOnly("app-1.0.jar");
+        assertThat(names(index.getFiles("test"))).containsOnly("cucumber.json");
+        assertThat(names(index.getFiles("deploy"))).containsOnly("app-1.0.war");
+        assertThat(index.getFiles("unknown")).isEmpty();
+    }
+
+    @Test
+    public void directoriesOutsideTheWorkspaceAreWalkedToo() throws Exception {
+        File workspace = folder.newFolder("workspace");
+        File elsewhere = folder.newFolder("elsewhere");
+        new File(elsewhere, "app.jar").createNewFile();
+
+        WorkspaceIndex index = new WorkspaceIndex(new FilePath(workspace))
+                .register("artifact", new FilePath(elsewhere), "*.jar");
+
+        assertThat(names(index.getFiles("artifact"))).containsOnly("app.jar");
+    }
+
+    @Test
+    public void nameOnlyPatternsStayBelowTheirDirectory() throws Exception {
+        File workspace = folder.newFolder("workspace");
+        new File(workspace, "a/b").mkdirs();
+        new File(workspace, "a/b/one.jar").createNewFile();
+        new File(workspace, "two.jar").createNewFile();
+        FilePath root = new FilePath(workspace);
+
+        WorkspaceIndex index = new WorkspaceIndex(root).register("artifact", new FilePath(root, "a"), "*.jar");
+
+        assertThat(names(index.getFiles("artifact"))).containsOnly("one.jar");
+    }
+
+    @Test
+    public void registeringAfterTheScanFails() throws Exception {
+        FilePath root = new FilePath(folder.newFolder("workspace"));
+        WorkspaceIndex index = new WorkspaceIndex(root).register("artifact", root, "*.jar");
+        index.getFiles("artifact");
+
+        try {
+            index.register("deploy", root, "*.war");
+            fail("a late registration would never be scanned");
+        } catch (IllegalStateException expected) {
+            assertThat(index.isRegistered("deploy")).isFalse();
+        }
+    }
+
+    private static Set<String> names(List<FilePath> files) {
+        Set<String> names = new HashSet<>();
+        for (FilePath file : files) {
+            names.add(file.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,208 @@
+package jenkins.plugins.hygieia;
+
+import com.capitalone.dashboard.model.TestCapability;
+import com.capitalone.dashboard.model.TestCaseStatus;
+import com.capitalone.dashboard.model.TestSuiteType;
+import com.capitalone.dashboard.request.TestDataCreateRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.httpclient.HttpStatus;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class ChunkedTestResultUploadTest {
+
+    private static final String URL = "http://hygieia/api/v2/quality/test";
+
+    private TestDataCreateRequest request;
+    private ApiStub api;
+
+    @Before
+    public void setup() {
+        request = new TestDataCreateRequest();
+        request.setExecutionId("42");
+        request.setTestJobName("regression");
+        request.setType(TestSuiteType.Regression);
+        for (int i = 0; i < 10; i++) {
+            TestCapability capability = new TestCapability();
+            capability.setDescription("capability-" + i + StringUtils.repeat('x', 1000));
+            capability.setExecutionId("42");
+            capability.setStatus(i % 3 == 0 ? TestCaseStatus.Failure : TestCaseStatus.Success);
+            request.getTestCapabilities().add(capability);
+        }
+        request.setTotalCount(10);
+        request.setFailureCount(4);
+        request.setSuccessCount(6);
+        api = new ApiStub();
+    }
+
+    @Test
+    public void smallRequestIsPostedAsIs() throws Exception {
+        ChunkedTestResultUpload upload = new ChunkedTestResultUpload(request, Integer.MAX_VALUE);
+
+        upload.resume(api, URL);
+
+        assertThat(upload.isComplete(), is(true));
+        assertThat(api.posts, is(equalTo(1)));
+        assertThat(api.chunkPosts, is(equalTo(0)));
+        assertStoredResultIsTheWholeRequest();
+    }
+
+    @Test
+    public void requestIsPostedWholeWithoutAChunkLimit() throws Exception {
+        ChunkedTestResultUpload upload = new ChunkedTestResultUpload(request, 0);
+
+        RestCall.RestCallResponse response = upload.resume(api, URL);
+
+        assertThat(response.getResponseCode(), is(equalTo(HttpStatus.SC_CREATED)));
+        assertThat(upload.isComplete(), is(true));
+        assertThat(api.posts, is(equalTo(1)));
+        assertThat(api.chunkPosts, is(equalTo(0)));
+        assertStoredResultIsTheWholeRequest();
+    }
+
+    @Test
+    public void chunksAreAppendedIntoOneResult() throws Exception {
+        ChunkedTestResultUpload upload = new ChunkedTestResultUpload(request, 3000);
+
+        RestCall.RestCallResponse response = upload.resume(api, URL);
+
+        assertThat(response.getResponseCode(), is(equalTo(HttpStatus.SC_CREATED)));
+        assertThat(upload.isComplete(), is(true));
+        assertThat(upload.getCompletedChunks(), is(greaterThan(1)));
+        assertThat(api.posts, is(equalTo(upload.getCompletedChunks())));
+        assertThat(api.largestChunk, is(lessThanOrEqualTo(3000)));
+        assertStoredResultIsTheWholeRequest();
+    }
+
+    @Test
+    public void resumesFromRejectedChunk() throws Exception {
+        ChunkedTestResultUpload upload = new ChunkedTestResultUpload(request, 3000);
+        api.rejectPost = 2;
+
+        RestCall.RestCallResponse response = upload.resume(api, URL);
+
+        assertThat(response.getResponseCode(), is(equalTo(HttpStatus.SC_BAD_REQUEST)));
+        assertThat(upload.isComplete(), is(false));
+        assertThat(upload.getCompletedChunks(), is(equalTo(1)));
+        assertThat(api.results.containsKey("42"), is(false));
+
+        upload.resume(api, URL);
+
+        assertThat(upload.isComplete(), is(true));
+        // the accepted chunk is not sent again, the rejected one is
+        assertThat(api.posts, is(equalTo(upload.getCompletedChunks() + 1)));
+        assertStoredResultIsTheWholeRequest();
+    }
+
+    private void assertStoredResultIsTheWholeRequest() {
+        assertThat(api.results.size(), is(equalTo(1)));
+        JsonNode result = api.results.get("42");
+        assertThat(result.get("testJobName").asText(), is(equalTo("regression")));
+        assertThat(result.get("totalCount").asInt(), is(equalTo(10)));
+        assertThat(result.get("failureCount").asInt(), is(equalTo(4)));
+        assertThat(result.get("successCount").asInt(), is(equalTo(6)));
+        List<String> descriptions = new ArrayList<>();
+        for (JsonNode capability : result.get("testCapabilities")) {
+            descriptions.add(StringUtils.substringBefore(capability.get("description").asText(), "x"));
+        }
+        assertThat(descriptions, contains("capability-0", "capability-1", "capability-2", "capability-3",
+                "capability-4", "capability-5", "capability-6", "capability-7", "capability-8", "capability-9"));
+    }
+
+    /**
+     * Stands in for the Hygieia API. {@code /v2/quality/test} keeps one result per execution id, replacing any
+     * earlier one; {@code /v2/quality/test/chunk} keeps the chunks of an execution by index and stores their
+     * capabilities and counts appended in index order once the last chunk and every one before it have arrived.
+     */
+    private static class ApiStub extends RestCall {
+
+        private static final String[] COUNTS = {"totalCount", "successCount", "failureCount", "skippedCount", "unknownStatusCount"};
+
+        private final ObjectMapper mapper = new ObjectMapper();
+        private final Map<String, JsonNode> results = new HashMap<>();
+        private final Map<String, TreeMap<Integer, JsonNode>> chunks = new HashMap<>();
+        private final Map<String, Integer> lastChunks = new HashMap<>();
+        private int posts;
+        private int chunkPosts;
+        private int largestChunk;
+        private int rejectPost = -1;
+
+        ApiStub() {
+            super(false);
+        }
+
+        @Override
+        public RestCallResponse makeRestCallPost(String url, String jsonString) {
+            posts++;
+            try {
+                JsonNode body = mapper.readTree(jsonString);
+                if (posts == rejectPost) {
+                    return new RestCallResponse(HttpStatus.SC_BAD_REQUEST, "");
+                }
+                String executionId = body.get("executionId").asText();
+                if (url.equals(URL)) {
+                    results.put(executionId, body);
+                    return new RestCallResponse(HttpStatus.SC_CREATED, "id");
+                }
+                if (!url.startsWith(URL + ChunkedTestResultUpload.CHUNK_PATH + "?")) {
+                    return new RestCallResponse(HttpStatus.SC_NOT_FOUND, "");
+                }
+                chunkPosts++;
+                largestChunk = Math.max(largestChunk, jsonString.getBytes(StandardCharsets.UTF_8).length);
+                String query = StringUtils.substringAfter(url, "?");
+                int index = Integer.parseInt(StringUtils.substringBefore(StringUtils.substringAfter(query, "index="), "&"));
+                if (query.contains("&last=true")) {
+                    lastChunks.put(executionId, index);
+                }
+                TreeMap<Integer, JsonNode> received = chunks.get(executionId);
+                if (null == received) {
+                    received = new TreeMap<>();
+                    chunks.put(executionId, received);
+                }
+                received.put(index, body);
+                Integer last = lastChunks.get(executionId);
+                if (null != last && received.size() == last + 1) {
+                    results.put(executionId, combine(received));
+                    chunks.remove(executionId);
+                    lastChunks.remove(executionId);
+                }
+            } catch (Exception e) {
+                return new RestCallResponse(HttpStatus.SC_BAD_REQUEST, "");
+            }
+            return new RestCallResponse(HttpStatus.SC_CREATED, "id");
+        }
+
+        private JsonNode combine(TreeMap<Integer, JsonNode> received) {
+            ObjectNode result = received.firstEntry().getValue().deepCopy();
+            ArrayNode capabilities = result.putArray("testCapabilities");
+            for (String count : COUNTS) {
+                result.put(count, 0);
+            }
+            for (JsonNode chunk : received.values()) {
+                capabilities.addAll((ArrayNode) chunk.get("testCapabilities"));
+                for (String count : COUNTS) {
+                    result.put(count, result.get(count).asInt() + chunk.get(count).asInt());
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -12,8 +12,7 @@ public class DefaultHygieiaServiceTest {
      */
     @Test
     public void publishWithBadHostShouldNotRethrowExceptions() {
-        DefaultHygieiaService service = new DefaultHygieiaService("foo", "token", "myname", false);
-        service.setHygieiaAPIUrl("hostvaluethatwillcausepublishtofail");
+        DefaultHygieiaService service = new DefaultHygieiaService("hostvaluethatwillcausepublishtofail", "token", "myname", false);
 
         service.publishBuildData(makeBuildDataRequestData());
     }
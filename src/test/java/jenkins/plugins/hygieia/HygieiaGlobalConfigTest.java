@@ -0,0 +1,68 @@
+package jenkins.plugins.hygieia;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HygieiaGlobalConfigTest {
+
+    private final HygieiaPublisher.DescriptorImpl descriptor = mock(HygieiaPublisher.DescriptorImpl.class);
+
+    @Test
+    public void splitsEndpointsAndLinesUpAppUrls() {
+        when(descriptor.getHygieiaAPIUrl()).thenReturn(" http://one/api , ;http://two/api");
+        when(descriptor.getHygieiaAppUrl()).thenReturn("http://one,http://blank,http://two");
+
+        HygieiaGlobalConfig config = HygieiaGlobalConfig.of(descriptor);
+
+        assertThat(config.getApiEndpoints()).containsExactly("http://one/api", "http://two/api");
+        assertThat(config.getAppUrl(0)).isEqualTo("http://one");
+        assertThat(config.getAppUrl(1)).isEqualTo("http://two");
+        assertThat(config.getAppUrl(2)).isNull();
+    }
+
+    @Test
+    public void blankAppUrlsKeepTheirPosition() {
+        when(descriptor.getHygieiaAPIUrl()).thenReturn("http://one/api,http://two/api,http://three/api");
+        when(descriptor.getHygieiaAppUrl()).thenReturn(",http://two");
+
+        HygieiaGlobalConfig config = HygieiaGlobalConfig.of(descriptor);
+
+        assertThat(config.getAppUrl(0)).isEmpty();
+        assertThat(config.getAppUrl(1)).isEqualTo("http://two");
+        assertThat(config.getAppUrl(2)).isNull();
+    }
+
+    @Test
+    public void publishesOnlyWhenSomethingIsEnabled() {
+        assertThat(HygieiaGlobalConfig.of(descriptor).isPublishing()).isFalse();
+
+        when(descriptor.getHygieiaPublishGenericCollectorItems()).thenReturn(
+                Collections.singletonList(new HygieiaPublisher.GenericCollectorItem("tool", "pattern", false)));
+
+        assertThat(HygieiaGlobalConfig.of(descriptor).isPublishing()).isTrue();
+    }
+
+    @Test
+    public void reusesTheServiceOfAnEndpoint() {
+        when(descriptor.getHygieiaService(anyString(), anyString(), anyString(), anyBoolean()))
+                .thenReturn(mock(HygieiaService.class), mock(HygieiaService.class));
+        when(descriptor.getHygieiaToken()).thenReturn("token");
+        when(descriptor.getHygieiaJenkinsName()).thenReturn("jenkins");
+        HygieiaGlobalConfig config = HygieiaGlobalConfig.of(descriptor);
+
+        HygieiaService service = config.getHygieiaService("http://one/api");
+
+        assertThat(config.getHygieiaService("http://one/api")).isSameAs(service);
+        assertThat(config.getHygieiaService("http://two/api")).isNotSameAs(service);
+        verify(descriptor, times(2)).getHygieiaService(anyString(), anyString(), anyString(), anyBoolean());
+    }
+}
@@ -26,6 +26,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.mockito.Spy;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -106,6 +108,12 @@ public class HygieiaGlobalListenerTest {
         PowerMockito.when(HygieiaUtils.getBuildStatus(Result.SUCCESS)).thenReturn(BuildStatus.Success);
         PowerMockito.when(HygieiaUtils.getUserID(mockRun, mockBuildListener)).thenReturn("jenkinsuser");
         when(mockDescriptor.getHygieiaService(any(String.class), any(String.class), any(String.class), any(Boolean.class))).thenReturn(mockHygieiaService);
+        when(mockDescriptor.getGlobalConfig()).thenAnswer(new Answer<HygieiaGlobalConfig>() {
+            @Override
+            public HygieiaGlobalConfig answer(InvocationOnMock invocation) {
+                return HygieiaGlobalConfig.of(mockDescriptor);
+            }
+        });
 
         when(mockHygieiaService.getStageResponse(any(String.class),any(String.class),any(String.class))).thenReturn(null);
         when(mockHygieiaService.publishBuildDataV3(any(BuildDataCreateRequest.class))).thenReturn(hygieiaResponse);
@@ -147,6 +155,20 @@ public class HygieiaGlobalListenerTest {
         verify(mockStream, never()).println("Hygieia: Skipping publish to hygieia as the job was excluded in global configuration." + hygieiaResponse.toString());
     }
 
+    @Test
+    public void excludedJobIsNotPublished() throws IOException {
+        setup();
+        when(mockDescriptor.isHygieiaPublishBuildDataGlobal()).thenReturn(true);
+        when(mockDescriptor.getHygieiaExcludeJobNames()).thenReturn("PR-,test");
+        when(mockJob.getName()).thenReturn("PR-42");
+
+        hygieiaGlobalListener.onStarted(mockRun, mockBuildListener);
+        hygieiaGlobalListener.onCompleted(mockRun, mockBuildListener);
+
+        verify(mockHygieiaService, never()).publishBuildDataV3(any(BuildDataCreateRequest.class));
+        verify(mockDescriptor, never()).getHygieiaService(any(String.class), any(String.class), any(String.class), any(Boolean.class));
+    }
+
     @Test
     public void onCompletedBuildPublishBuildNoSonar() throws IOException {
         setup();
@@ -248,10 +270,11 @@ public class HygieiaGlobalListenerTest {
         when(mockRun.getLogReader()).thenReturn(reader);
         Set<String> matchedLines = Sets.newHashSet(Collections.singletonList("line1"));
         String pattern = ".*" + Pattern.quote("some pattern") + "(.*)";
-        PowerMockito.when(HygieiaUtils.getMatchedLinesFromLog(mockRun, pattern)).thenReturn(matchedLines);
+        PowerMockito.when(HygieiaUtils.getMatchedLinesFromLog(any(Run.class), any(Pattern.class))).thenReturn(matchedLines);
         hygieiaGlobalListener.onCompleted(mockRun, mockBuildListener);
         ArgumentCaptor<GenericCollectorItemCreateRequest> captorBuild = ArgumentCaptor.forClass(GenericCollectorItemCreateRequest.class);
         verify(mockHygieiaService, times(1)).publishGenericCollectorItemData(captorBuild.capture());
+        assertThat(captorBuild.getValue().getPattern()).isEqualTo(pattern);
     }
 
     @Test
@@ -268,12 +291,13 @@ public class HygieiaGlobalListenerTest {
         when(mockRun.getLogReader()).thenReturn(reader);
         Set<String> matchedLines = Sets.newHashSet(Arrays.asList("line1", "line2"));
         String pattern = ".*" + Pattern.quote("some pattern") + "(.*)";
-        PowerMockito.when(HygieiaUtils.getMatchedLinesFromLog(mockRun, pattern)).thenReturn(matchedLines);
+        PowerMockito.when(HygieiaUtils.getMatchedLinesFromLog(any(Run.class), any(Pattern.class))).thenReturn(matchedLines);
 
         hygieiaGlobalListener.onCompleted(mockRun, mockBuildListener);
 
         ArgumentCaptor<GenericCollectorItemCreateRequest> captorBuild = ArgumentCaptor.forClass(GenericCollectorItemCreateRequest.class);
         verify(mockHygieiaService, times(2)).publishGenericCollectorItemData(captorBuild.capture());
+        assertThat(captorBuild.getValue().getPattern()).isEqualTo(pattern);
     }
 
     private BuildDataCreateResponse getBuildDataCreateResponse() {
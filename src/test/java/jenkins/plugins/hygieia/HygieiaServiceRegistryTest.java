@@ -0,0 +1,32 @@
+package jenkins.plugins.hygieia;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HygieiaServiceRegistryTest {
+
+    @After
+    public void clear() {
+        HygieiaServiceRegistry.clear();
+    }
+
+    @Test
+    public void sharesTheServiceOfTheSameSettings() {
+        HygieiaService service = HygieiaServiceRegistry.getHygieiaService("http://hygieia/api", "token", "jenkins", false);
+
+        assertThat(HygieiaServiceRegistry.getHygieiaService("http://hygieia/api", "token", "jenkins", false)).isSameAs(service);
+        assertThat(HygieiaServiceRegistry.getHygieiaService("http://hygieia/api", "token", "jenkins", true)).isNotSameAs(service);
+        assertThat(HygieiaServiceRegistry.getHygieiaService("http://hygieia/api", "other", "jenkins", false)).isNotSameAs(service);
+    }
+
+    @Test
+    public void clearDropsTheServices() {
+        HygieiaService service = HygieiaServiceRegistry.getHygieiaService("http://hygieia/api", "token", "jenkins", false);
+
+        HygieiaServiceRegistry.clear();
+
+        assertThat(HygieiaServiceRegistry.getHygieiaService("http://hygieia/api", "token", "jenkins", false)).isNotSameAs(service);
+    }
+}
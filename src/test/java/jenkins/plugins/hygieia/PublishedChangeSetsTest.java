@@ -0,0 +1,103 @@
+package jenkins.plugins.hygieia;
+
+import com.capitalone.dashboard.model.SCM;
+import hudson.XmlFile;
+import hudson.model.Job;
+import hudson.model.Run;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PublishedChangeSetsTest {
+
+    private static final String ENDPOINT_A = "http://a/api";
+    private static final String ENDPOINT_B = "http://b/api";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final PublishedChangeSets changeSets = new PublishedChangeSets();
+
+    @Test
+    public void laterBuildsOnlyGetNewCommits() {
+        assertThat(changeSets.record(ENDPOINT_A, 1, commits("a", "b"))).isTrue();
+
+        assertThat(revisions(changeSets.filter(ENDPOINT_A, 2, commits("a", "b", "c")))).containsExactly("c");
+    }
+
+    @Test
+    public void commitsAreOnlyPublishedForTheEndpointThatTookThem() {
+        changeSets.record(ENDPOINT_A, 1, commits("a", "b"));
+
+        assertThat(revisions(changeSets.filter(ENDPOINT_B, 2, commits("a", "b", "c")))).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    public void theBuildThatPublishedACommitKeepsSendingIt() {
+        changeSets.record(ENDPOINT_A, 1, commits("a", "b"));
+
+        assertThat(changeSets.record(ENDPOINT_A, 1, commits("a", "b"))).isFalse();
+        assertThat(revisions(changeSets.filter(ENDPOINT_A, 1, commits("a", "b")))).containsExactly("a", "b");
+    }
+
+    @Test
+    public void forgetsTheOldestRevisionsBeyondTheLimit() {
+        List<SCM> commits = new ArrayList<>();
+        for (int i = 0; i <= PublishedChangeSets.MAX_REVISIONS; i++) {
+            commits.add(commit(Integer.toString(i)));
+        }
+        changeSets.record(ENDPOINT_A, 1, commits);
+
+        assertThat(revisions(changeSets.filter(ENDPOINT_A, 2, commits("0", "1")))).containsExactly("0");
+    }
+
+    @Test
+    public void keepsTheRevisionsInTheDirectoryOfTheJob() throws Exception {
+        Job job = mock(Job.class);
+        when(job.getRootDir()).thenReturn(folder.getRoot());
+        Run first = mock(Run.class);
+        when(first.getParent()).thenReturn(job);
+        when(first.getNumber()).thenReturn(1);
+        Run second = mock(Run.class);
+        when(second.getParent()).thenReturn(job);
+        when(second.getNumber()).thenReturn(2);
+
+        PublishedChangeSets.recordPublished(first, ENDPOINT_A, commits("a"));
+
+        PublishedChangeSets saved = (PublishedChangeSets) new XmlFile(new File(folder.getRoot(), PublishedChangeSets.FILE_NAME)).read();
+        assertThat(revisions(saved.filter(ENDPOINT_A, 2, commits("a", "b")))).containsExactly("b");
+        assertThat(revisions(PublishedChangeSets.getUnpublished(second, ENDPOINT_A, commits("a", "b")))).containsExactly("b");
+        assertThat(revisions(PublishedChangeSets.getUnpublished(second, ENDPOINT_B, commits("a", "b")))).containsExactly("a", "b");
+    }
+
+    private static List<SCM> commits(String... revisions) {
+        List<SCM> commits = new ArrayList<>();
+        for (String revision : Arrays.asList(revisions)) {
+            commits.add(commit(revision));
+        }
+        return commits;
+    }
+
+    private static SCM commit(String revision) {
+        SCM commit = new SCM();
+        commit.setScmRevisionNumber(revision);
+        return commit;
+    }
+
+    private static List<String> revisions(List<SCM> commits) {
+        List<String> revisions = new ArrayList<>();
+        for (SCM commit : commits) {
+            revisions.add(commit.getScmRevisionNumber());
+        }
+        return revisions;
+    }
+}
@@ -441,6 +441,79 @@ public class CodeQualityMetricsConverterTest {
             tuple("violations", "4", "4", CodeQualityMetricStatus.Warning));
   }
 
+  @Test
+  public void sumsViolationsAcrossFormatsOnce() {
+    CodeQualityMetricsConverter testee = new CodeQualityMetricsConverter();
+    this.producePmdReport().accept(testee);
+    this.produceCheckStyleReport().accept(testee);
+    testee.sumViolations(Collections.singletonMap(ViolationSeverity.BLOCKER, 1));
+
+    testee.produceResult();
+    CodeQuality codeQualityMetrics = testee.produceResult();
+
+    assertThat(codeQualityMetrics.getMetrics()).hasSize(4);
+    assertThat(codeQualityMetrics.getMetrics()).extracting("name", "formattedValue", "value", "status")
+        .contains(
+            tuple("blocker_violations", "20", "20", CodeQualityMetricStatus.Alert),
+            tuple("critical_violations", "23", "23", CodeQualityMetricStatus.Alert),
+            tuple("major_violations", "4", "4", CodeQualityMetricStatus.Warning),
+            tuple("violations", "3", "3", CodeQualityMetricStatus.Warning));
+  }
+
+  @Test
+  public void mergedPartialsMatchSerialVisit() {
+    CodeQualityMetricsConverter serial = new CodeQualityMetricsConverter();
+    this.produceJacocoXmlReport().accept(serial);
+    this.produceJacocoXmlReport().accept(serial);
+    this.producePmdReport().accept(serial);
+    this.produceFindbugsReport().accept(serial);
+
+    CodeQualityMetricsConverter jacoco1 = new CodeQualityMetricsConverter();
+    this.produceJacocoXmlReport().accept(jacoco1);
+    CodeQualityMetricsConverter jacoco2 = new CodeQualityMetricsConverter();
+    this.produceJacocoXmlReport().accept(jacoco2);
+    CodeQualityMetricsConverter pmd = new CodeQualityMetricsConverter();
+    this.producePmdReport().accept(pmd);
+    CodeQualityMetricsConverter findbugs = new CodeQualityMetricsConverter();
+    this.produceFindbugsReport().accept(findbugs);
+
+    // merged in a different grouping and order than visited
+    CodeQualityMetricsConverter merged = new CodeQualityMetricsConverter()
+        .merge(findbugs.merge(jacoco2))
+        .merge(pmd.merge(jacoco1));
+
+    assertThat(describe(merged.produceResult())).isEqualTo(describe(serial.produceResult()));
+  }
+
+  @Test
+  public void mergedResultsMatchMergedPartials() {
+    CodeQualityMetricsConverter jacoco = new CodeQualityMetricsConverter();
+    this.produceJacocoXmlReport().accept(jacoco);
+    CodeQualityMetricsConverter pmd = new CodeQualityMetricsConverter();
+    this.producePmdReport().accept(pmd);
+
+    CodeQualityMetricsConverter fromResults = new CodeQualityMetricsConverter()
+        .merge(CodeQualityPartial.of(jacoco.produceResult()).toCodeQuality())
+        .merge(CodeQualityPartial.of(pmd.produceResult()).toCodeQuality());
+
+    CodeQualityMetricsConverter serial = new CodeQualityMetricsConverter();
+    this.produceJacocoXmlReport().accept(serial);
+    this.producePmdReport().accept(serial);
+    // violations still being counted are added on top of the materialized ones
+    this.producePmdReport().accept(fromResults);
+    this.producePmdReport().accept(serial);
+
+    assertThat(describe(fromResults.produceResult())).isEqualTo(describe(serial.produceResult()));
+  }
+
+  private static Set<String> describe(CodeQuality quality) {
+    Set<String> described = new HashSet<>();
+    for (CodeQualityMetric metric : quality.getMetrics()) {
+      described.add(metric.getName() + "=" + metric.getFormattedValue() + "/" + metric.getValue() + "/" + metric.getStatus());
+    }
+    return described;
+  }
+
   @Test
   public void jacocoEmpty() {
     JacocoXmlReport jacocoXmlReport1 = new JacocoXmlReport();
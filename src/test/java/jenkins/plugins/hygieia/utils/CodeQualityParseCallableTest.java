@@ -0,0 +1,77 @@
+package jenkins.plugins.hygieia.utils;
+
+import hudson.Util;
+import hudson.model.TaskListener;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CodeQualityParseCallableTest {
+
+    private static final String PMD = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<pmd version=\"5.3.5\" timestamp=\"2017-05-10T23:14:33.651\">"
+            + "<file name=\"A.java\"><violation beginline=\"1\" priority=\"1\">blocker</violation></file>"
+            + "</pmd>\n<!-- after the root element -->\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TaskListener listener;
+
+    @Before
+    public void setup() {
+        listener = mock(TaskListener.class);
+        when(listener.getLogger()).thenReturn(new PrintStream(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void keyIsTheHashOfTheWholeReport() throws Exception {
+        File report = write("pmd.xml", PMD);
+
+        CodeQualityCallable.Result result = CodeQualityParseCallable.parse(report.toPath(), CodeQualityReportType.PMD);
+
+        String sha256 = Util.toHexString(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(report.toPath())));
+        assertThat(result.getKey()).isEqualTo(CodeQualityPartialCache.key(CodeQualityReportType.PMD, sha256));
+        assertThat(result.getPartial().getMetrics()).isNotEmpty();
+    }
+
+    @Test
+    public void discoveryKeysReportsByContent() throws Exception {
+        File parsed = write("parsed-pmd.xml", PMD);
+        File rebuilt = write("rebuilt-pmd.xml", PMD);
+        assertThat(rebuilt.setLastModified(parsed.lastModified() - 10000)).isTrue();
+        CodeQualityCallable.Result parsedResult = CodeQualityParseCallable.parse(parsed.toPath(), CodeQualityReportType.PMD);
+
+        List<CodeQualityCallable.Result> reports = CodeQualityCallable.readResults(new CodeQualityCallable(listener)
+                .withFilePattern(CodeQualityReportType.PMD, "*-pmd.xml")
+                .invoke(folder.getRoot(), null));
+
+        assertThat(reports).hasSize(2);
+        assertThat(reports.get(0).getPath()).endsWith("parsed-pmd.xml");
+        assertThat(reports.get(0).getType()).isEqualTo(CodeQualityReportType.PMD);
+        assertThat(reports.get(0).getPartial()).isNull();
+        // same content, different file and modification time
+        assertThat(reports.get(1).getPath()).endsWith("rebuilt-pmd.xml");
+        assertThat(reports.get(0).getKey()).isEqualTo(parsedResult.getKey());
+        assertThat(reports.get(1).getKey()).isEqualTo(parsedResult.getKey());
+    }
+
+    private File write(String name, String content) throws Exception {
+        File file = folder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
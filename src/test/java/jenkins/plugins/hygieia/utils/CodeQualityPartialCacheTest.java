@@ -0,0 +1,85 @@
+package jenkins.plugins.hygieia.utils;
+
+import com.capitalone.dashboard.model.CodeQualityMetric;
+import com.capitalone.dashboard.model.CodeQualityMetricStatus;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Java6Assertions.tuple;
+
+public class CodeQualityPartialCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void keepsPartialsOnDisk() throws Exception {
+        File directory = folder.newFolder();
+        new CodeQualityPartialCache(directory, 1024 * 1024).put(key('a'), partial("violations", 3));
+
+        // a new instance, as after a restart
+        CodeQualityPartial partial = new CodeQualityPartialCache(directory, 1024 * 1024).get(key('a'));
+
+        assertThat(partial.getTimestamp()).isEqualTo(42L);
+        assertThat(partial.getMetrics()).extracting("name", "value", "formattedValue", "status")
+                .containsExactly(tuple("violations", "3", "3", CodeQualityMetricStatus.Warning));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedOverTheCap() throws Exception {
+        File directory = folder.newFolder();
+        long entrySize = entrySize(folder.newFolder());
+        CodeQualityPartialCache cache = new CodeQualityPartialCache(directory, 2 * entrySize);
+
+        cache.put(key('a'), partial("violations", 1));
+        cache.put(key('b'), partial("violations", 2));
+        assertThat(cache.get(key('a'))).isNotNull();
+        cache.put(key('c'), partial("violations", 3));
+
+        assertThat(cache.get(key('b'))).isNull();
+        assertThat(new File(directory, key('b') + ".json")).doesNotExist();
+        assertThat(cache.get(key('a'))).isNotNull();
+        assertThat(cache.get(key('c'))).isNotNull();
+    }
+
+    @Test
+    public void ignoresKeysThatAreNotContentHashes() throws Exception {
+        File directory = folder.newFolder();
+        CodeQualityPartialCache cache = new CodeQualityPartialCache(directory, 1024 * 1024);
+
+        cache.put("../pmd-" + StringUtils.repeat('a', 64), partial("violations", 1));
+
+        assertThat(cache.get("../pmd-" + StringUtils.repeat('a', 64))).isNull();
+        assertThat(directory.getParentFile().list()).doesNotContain("pmd-" + StringUtils.repeat('a', 64) + ".json");
+    }
+
+    @Test
+    public void missIsNull() throws Exception {
+        assertThat(new CodeQualityPartialCache(folder.newFolder(), 1024 * 1024).get(key('a'))).isNull();
+    }
+
+    private static long entrySize(File directory) {
+        new CodeQualityPartialCache(directory, 1024 * 1024).put(key('z'), partial("violations", 1));
+        return new File(directory, key('z') + ".json").length();
+    }
+
+    private static String key(char c) {
+        return CodeQualityPartialCache.key(CodeQualityReportType.PMD, StringUtils.repeat(c, 64));
+    }
+
+    private static CodeQualityPartial partial(String name, int value) {
+        CodeQualityMetric metric = new CodeQualityMetric(name);
+        metric.setValue(Integer.toString(value));
+        metric.setFormattedValue(Integer.toString(value));
+        metric.setStatus(CodeQualityMetricStatus.Warning);
+        CodeQualityPartial partial = new CodeQualityPartial();
+        partial.setTimestamp(42L);
+        partial.getMetrics().add(metric);
+        return partial;
+    }
+}
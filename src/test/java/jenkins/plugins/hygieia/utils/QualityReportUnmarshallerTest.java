@@ -0,0 +1,51 @@
+package jenkins.plugins.hygieia.utils;
+
+import com.capitalone.dashboard.model.quality.JunitXmlReport;
+import com.capitalone.dashboard.model.quality.PmdReport;
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+import javax.xml.bind.JAXBException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class QualityReportUnmarshallerTest {
+
+    @Test
+    public void sharesOneContext() throws Exception {
+        assertThat(QualityReportUnmarshaller.getContext()).isSameAs(QualityReportUnmarshaller.getContext());
+    }
+
+    @Test
+    public void unmarshallsReportsRepeatedly() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            try (InputStream junit = getClass().getResourceAsStream("/junit.xml");
+                 InputStream pmd = getClass().getResourceAsStream("/pmd.xml")) {
+                JunitXmlReport junitReport = QualityReportUnmarshaller.unmarshall(junit);
+                PmdReport pmdReport = QualityReportUnmarshaller.unmarshall(pmd);
+
+                assertThat(junitReport.getTests()).isEqualTo(4);
+                assertThat(pmdReport).isNotNull();
+            }
+        }
+    }
+
+    @Test
+    public void parserIsReusableAfterAFailure() throws Exception {
+        try {
+            QualityReportUnmarshaller.unmarshall(new ByteArrayInputStream("not xml".getBytes(StandardCharsets.UTF_8)));
+            fail("malformed report should not unmarshall");
+        } catch (SAXException | JAXBException expected) {
+            // pooled instances go back to the pool either way
+        }
+
+        try (InputStream junit = getClass().getResourceAsStream("/junit.xml")) {
+            JunitXmlReport report = QualityReportUnmarshaller.unmarshall(junit);
+            assertThat(report.getTests()).isEqualTo(4);
+        }
+    }
+}
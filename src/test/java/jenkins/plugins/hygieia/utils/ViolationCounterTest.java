@@ -0,0 +1,127 @@
+package jenkins.plugins.hygieia.utils;
+
+import com.capitalone.dashboard.model.CodeQualityMetric;
+import com.capitalone.dashboard.model.quality.FindBugsXmlReport;
+import com.capitalone.dashboard.model.quality.QualityVisitee;
+import org.junit.Test;
+
+import javax.xml.bind.annotation.XmlEnumValue;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ViolationCounterTest {
+
+    private static final String PMD = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<pmd version=\"5.3.5\" timestamp=\"2017-05-10T23:14:33.651\">"
+            + "<file name=\"A.java\">"
+            + "<violation beginline=\"1\" priority=\"1\">blocker</violation>"
+            + "<violation beginline=\"2\" priority=\"2\">critical</violation>"
+            + "<violation beginline=\"3\" priority=\"3\">major</violation>"
+            + "<violation beginline=\"4\" priority=\"3\">major</violation>"
+            + "<violation beginline=\"5\" priority=\"5\">minor</violation>"
+            + "</file>"
+            + "<file name=\"B.java\"><violation beginline=\"1\" priority=\"4\">minor</violation></file>"
+            + "<error filename=\"C.java\" msg=\"not counted\"/>"
+            + "</pmd>";
+
+    private static final String CHECKSTYLE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<checkstyle version=\"8.0\">"
+            + "<file name=\"A.java\">"
+            + "<error line=\"1\" severity=\"error\" message=\"m\" source=\"s\"/>"
+            + "<error line=\"2\" severity=\"warning\" message=\"m\" source=\"s\"/>"
+            + "<error line=\"3\" severity=\"warning\" message=\"m\" source=\"s\"/>"
+            + "<error line=\"4\" severity=\"info\" message=\"m\" source=\"s\"/>"
+            + "</file>"
+            + "<file name=\"B.java\"/>"
+            + "</checkstyle>";
+
+    @Test
+    public void countsPmdPriorities() throws Exception {
+        Map<ViolationSeverity, Integer> counts = ViolationCounter.count(stream(PMD), ViolationCounter.Format.PMD);
+
+        assertThat(tallies(counts)).containsExactly(1, 1, 2, 2);
+    }
+
+    @Test
+    public void countsCheckstyleSeverities() throws Exception {
+        Map<ViolationSeverity, Integer> counts = ViolationCounter.count(stream(CHECKSTYLE), ViolationCounter.Format.CHECKSTYLE);
+
+        assertThat(tallies(counts)).containsExactly(1, 2, 1, 0);
+    }
+
+    @Test
+    public void pmdMetricsMatchUnmarshalledReport() throws Exception {
+        assertSameMetrics(PMD, ViolationCounter.Format.PMD);
+    }
+
+    @Test
+    public void checkstyleMetricsMatchUnmarshalledReport() throws Exception {
+        assertSameMetrics(CHECKSTYLE, ViolationCounter.Format.CHECKSTYLE);
+    }
+
+    @Test
+    public void findbugsMetricsMatchUnmarshalledReport() throws Exception {
+        // one bug instance for every priority the model knows, however the model spells them
+        StringBuilder findbugs = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><BugCollection><file classname=\"A\">");
+        Class<?> priorities = FindBugsXmlReport.BugInstance.class.getMethod("getPriority").getReturnType();
+        for (Field field : priorities.getFields()) {
+            if (field.isEnumConstant()) {
+                XmlEnumValue xmlValue = field.getAnnotation(XmlEnumValue.class);
+                findbugs.append("<BugInstance type=\"T\" priority=\"")
+                        .append(xmlValue == null ? field.getName() : xmlValue.value())
+                        .append("\" category=\"C\"/>");
+            }
+        }
+        findbugs.append("</file></BugCollection>");
+
+        assertSameMetrics(findbugs.toString(), ViolationCounter.Format.FINDBUGS);
+    }
+
+    @Test
+    public void emptyReportsCountNothing() throws Exception {
+        try (InputStream pmd = getClass().getResourceAsStream("/pmd.xml")) {
+            assertThat(tallies(ViolationCounter.count(pmd, ViolationCounter.Format.PMD))).containsExactly(0, 0, 0, 0);
+        }
+    }
+
+    private void assertSameMetrics(String report, ViolationCounter.Format format) throws Exception {
+        CodeQualityMetricsConverter unmarshalled = new CodeQualityMetricsConverter();
+        QualityVisitee visitee = QualityReportUnmarshaller.unmarshall(stream(report));
+        visitee.accept(unmarshalled);
+
+        CodeQualityMetricsConverter streamed = new CodeQualityMetricsConverter();
+        streamed.sumViolations(ViolationCounter.count(stream(report), format));
+
+        assertThat(describe(streamed.produceResult().getMetrics())).isEqualTo(describe(unmarshalled.produceResult().getMetrics()));
+    }
+
+    // in the order of BLOCKER, CRITICAL, MAJOR, MINOR
+    private static List<Integer> tallies(Map<ViolationSeverity, Integer> counts) {
+        List<Integer> tallies = new ArrayList<>();
+        for (ViolationSeverity severity : ViolationSeverity.values()) {
+            tallies.add(counts.get(severity));
+        }
+        return tallies;
+    }
+
+    private static Set<String> describe(Set<CodeQualityMetric> metrics) {
+        Set<String> described = new HashSet<>();
+        for (CodeQualityMetric metric : metrics) {
+            described.add(metric.getName() + "=" + metric.getValue() + "/" + metric.getStatus());
+        }
+        return described;
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,7 +1,6 @@
 package jenkins.plugins.hygieia.workflow;
 
 import com.capitalone.dashboard.model.CodeQualityType;
-import com.capitalone.dashboard.model.quality.*;
 import com.capitalone.dashboard.request.BuildDataCreateRequest;
 import com.capitalone.dashboard.request.CodeQualityCreateRequest;
 import hudson.FilePath;
@@ -9,7 +8,6 @@ import hudson.model.ItemGroup;
 import hudson.model.Job;
 import hudson.model.Run;
 import hudson.model.TaskListener;
-import hudson.remoting.VirtualChannel;
 import jenkins.plugins.hygieia.HygieiaPublisher;
 import jenkins.plugins.hygieia.HygieiaResponse;
 import jenkins.plugins.hygieia.HygieiaService;
@@ -21,13 +19,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
-import hudson.remoting.Callable;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
 import java.io.File;
 import java.io.PrintStream;
 
@@ -47,11 +42,6 @@ public class HygieiaCodeQualityPublishStepExecutionTest {
     @Mock
     private Run mockRun;
 
-    @Mock
-    private VirtualChannel mockChannel;
-
-    private JAXBContext context;
-
     @Mock
     private HygieiaService mockHygieiaService;
 
@@ -62,13 +52,10 @@ public class HygieiaCodeQualityPublishStepExecutionTest {
     private HygieiaCodeQualityPublishStep.HygieiaCodeQualityPublisherStepExecution subject;
 
     @Before
-    public void setup() throws JAXBException {
-        context = JAXBContext.newInstance(JunitXmlReport.class, JacocoXmlReport.class,
-                FindBugsXmlReport.class, CheckstyleReport.class, PmdReport.class);
-        subject.filepath = new FilePath(mockChannel,"remote");
+    public void setup() throws Exception {
+        // a local workspace, so the code quality callable runs in process against the test reports
+        subject.filepath = new FilePath(new File(this.getClass().getResource("/junit.xml").toURI()).getParentFile());
 
-
-        when(mockStep.getContext()).thenReturn(context);
         when(listener.getLogger()).thenReturn(mockPrintStream);
     }
 
@@ -151,10 +138,7 @@ public class HygieiaCodeQualityPublishStepExecutionTest {
     @Test
     public void runCollectsJunitResultFromJob() throws Throwable {
         this.expectationsForBuildJob(HttpStatus.SC_CREATED);
-        when(mockStep.getJunitFilePattern()).thenReturn("**/target/junit.xml");
-        FilePath[] files = new FilePath[]{new FilePath(new File(this.getClass().getResource("/junit.xml").toURI()))};
-
-        when(mockChannel.call(any(Callable.class))).thenReturn(files);
+        when(mockStep.getJunitFilePattern()).thenReturn("junit.xml");
 
         subject.run();
 
@@ -202,10 +186,6 @@ public class HygieiaCodeQualityPublishStepExecutionTest {
         this.expectationsForBuildJob(HttpStatus.SC_CREATED);
 
         when(mockStep.getJunitFilePattern()).thenReturn("**/target/junit.xml");
-        // javadoc says it may be empty but not null
-        FilePath[] files = new FilePath[0];
-
-        when(mockChannel.call(any(Callable.class))).thenReturn(files);
 
         subject.run();
 
@@ -222,9 +202,6 @@ public class HygieiaCodeQualityPublishStepExecutionTest {
         this.expectationsForBuildJob(HttpStatus.SC_CREATED);
 
         when(mockStep.getJunitFilePattern()).thenReturn("**/target/junit.xml");
-        FilePath[] files = new FilePath[]{};
-
-        when(mockChannel.call(any(Callable.class))).thenReturn(files);
 
         subject.run();
 
@@ -239,10 +216,7 @@ public class HygieiaCodeQualityPublishStepExecutionTest {
     public void doesPmd() throws Throwable {
         this.expectationsForBuildJob(HttpStatus.SC_CREATED);
 
-        when(mockStep.getPmdFilePattern()).thenReturn("**/target/pmd.xml");
-        FilePath[] files = new FilePath[]{new FilePath(new File(this.getClass().getResource("/pmd.xml").toURI()))};
-
-        when(mockChannel.call(any(Callable.class))).thenReturn(files);
+        when(mockStep.getPmdFilePattern()).thenReturn("pmd.xml");
 
         subject.run();
 
@@ -287,10 +261,7 @@ public class HygieiaCodeQualityPublishStepExecutionTest {
     public void doesFindbugs() throws Throwable {
         this.expectationsForBuildJob(HttpStatus.SC_CREATED);
 
-        when(mockStep.getFindbugsFilePattern()).thenReturn("**/target/findbugs.xml");
-        FilePath[] files = new FilePath[]{new FilePath(new File(this.getClass().getResource("/findbugs.xml").toURI()))};
-
-        when(mockChannel.call(any(Callable.class))).thenReturn(files);
+        when(mockStep.getFindbugsFilePattern()).thenReturn("findbugs.xml");
 
         subject.run();
 
@@ -335,10 +306,7 @@ public class HygieiaCodeQualityPublishStepExecutionTest {
     public void doesCheckstyle() throws Throwable {
         this.expectationsForBuildJob(HttpStatus.SC_CREATED);
 
-        when(mockStep.getCheckstyleFilePattern()).thenReturn("**/target/checkstyle-report.xml");
-        FilePath[] files = new FilePath[]{new FilePath(new File(this.getClass().getResource("/checkstyle-report.xml").toURI()))};
-
-        when(mockChannel.call(any(Callable.class))).thenReturn(files);
+        when(mockStep.getCheckstyleFilePattern()).thenReturn("checkstyle-report.xml");
 
         subject.run();
 
@@ -383,10 +351,7 @@ public class HygieiaCodeQualityPublishStepExecutionTest {
     public void doesJacoco() throws Throwable {
         this.expectationsForBuildJob(HttpStatus.SC_CREATED);
 
-        when(mockStep.getJacocoFilePattern()).thenReturn("**/target/jacoco.xml");
-        FilePath[] files = new FilePath[]{new FilePath(new File(this.getClass().getResource("/jacoco.xml").toURI()))};
-
-        when(mockChannel.call(any(Callable.class))).thenReturn(files);
+        when(mockStep.getJacocoFilePattern()).thenReturn("jacoco.xml");
 
         subject.run();
 
@@ -3,8 +3,6 @@ package jenkins.plugins.hygieia.workflow;
 import org.hamcrest.CoreMatchers;
 import org.junit.Test;
 
-import javax.xml.bind.JAXBException;
-
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -34,7 +32,7 @@ public class HygieiaCodeQualityPublishStepTest {
 
 
     @Test
-    public void configurationInOuterDoesNotRequireAnything() throws JAXBException {
+    public void configurationInOuterDoesNotRequireAnything() {
         HygieiaCodeQualityPublishStep step = new HygieiaCodeQualityPublishStep();
 
         assertThat(step,is(CoreMatchers.notNullValue()));
@@ -42,7 +40,7 @@ public class HygieiaCodeQualityPublishStepTest {
     }
 
     @Test
-    public void configurationCanSetJunitFilePattern() throws JAXBException {
+    public void configurationCanSetJunitFilePattern() {
 
         HygieiaCodeQualityPublishStep step = new HygieiaCodeQualityPublishStep();
 
@@ -53,7 +51,7 @@ public class HygieiaCodeQualityPublishStepTest {
     }
 
     @Test
-    public void configurationCanSetFindbugsFilePattern() throws JAXBException {
+    public void configurationCanSetFindbugsFilePattern() {
         HygieiaCodeQualityPublishStep step = new HygieiaCodeQualityPublishStep();
 
         step.setFindbugsFilePattern("**/target/findbugs.xml");
@@ -62,7 +60,7 @@ public class HygieiaCodeQualityPublishStepTest {
     }
 
     @Test
-    public void configurationCanSetPmdFilePattern() throws JAXBException {
+    public void configurationCanSetPmdFilePattern() {
         HygieiaCodeQualityPublishStep step = new HygieiaCodeQualityPublishStep();
 
         step.setPmdFilePattern("**/target/pmd.xml");
@@ -71,7 +69,7 @@ public class HygieiaCodeQualityPublishStepTest {
     }
 
     @Test
-    public void configurationCanSetCheckstyleFilePattern() throws JAXBException {
+    public void configurationCanSetCheckstyleFilePattern() {
         HygieiaCodeQualityPublishStep step = new HygieiaCodeQualityPublishStep();
 
         step.setCheckstyleFilePattern("**/target/checkstyle-result.xml");
@@ -80,7 +78,7 @@ public class HygieiaCodeQualityPublishStepTest {
     }
 
     @Test
-    public void configurationCanSetJacocoFilePattern() throws JAXBException {
+    public void configurationCanSetJacocoFilePattern() {
         HygieiaCodeQualityPublishStep step = new HygieiaCodeQualityPublishStep();
 
         step.setJacocoFilePattern("**/target/checkstyle-result.xml");